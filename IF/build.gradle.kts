@@ -25,7 +25,17 @@ dependencies {
     api(project(":nms:1_21_2-3"))
 
     // Test
+    testImplementation("org.spigotmc:spigot-api:1.20.3-R0.1-SNAPSHOT")
     testImplementation(libs.jupiter.engine)
 }
 
+val compileGlyphTables by tasks.registering(CompileGlyphTables::class) {
+    fonts.from(fileTree("src/main/resources/fonts") { include("*.csv") })
+    outputDirectory = layout.buildDirectory.dir("generated/glyph-tables")
+}
+
+sourceSets.main {
+    resources.srcDir(compileGlyphTables)
+}
+
 description = "IF"
\ No newline at end of file
@@ -1,8 +1,12 @@
 package com.github.stefvanschie.inventoryframework
 
+import com.github.stefvanschie.inventoryframework.gui.InventoryComponent
 import org.bukkit.entity.HumanEntity
 import org.bukkit.inventory.Inventory
 import org.bukkit.inventory.ItemStack
+import org.jetbrains.annotations.Contract
+import java.util.*
+import java.util.concurrent.ConcurrentHashMap
 import java.util.function.Consumer
 import kotlin.math.min
 
@@ -33,6 +37,8 @@ class HumanEntityCache {
         for (i in 0..35) {
             inventory.clear(i)
         }
+
+        InventoryComponent.invalidateFrame(inventory)
     }
 
     /**
@@ -125,7 +131,9 @@ class HumanEntityCache {
             items[i] = humanEntity.inventory.getItem(i)
         }
 
-        inventories[humanEntity] = items
+        if (inventories.put(humanEntity, items) == null) {
+            CACHED_ENTITIES.merge(humanEntity.uniqueId, 1, Int::plus)
+        }
     }
 
     /**
@@ -141,6 +149,8 @@ class HumanEntityCache {
         for (i in items.indices) {
             humanEntity.inventory.setItem(i, items[i])
         }
+
+        InventoryComponent.invalidateFrame(humanEntity.inventory)
     }
 
     /**
@@ -170,7 +180,9 @@ class HumanEntityCache {
      * @since 0.4.0
      */
     fun clearCache(humanEntity: HumanEntity) {
-        inventories.remove(humanEntity)
+        if (inventories.remove(humanEntity) != null) {
+            release(humanEntity.uniqueId)
+        }
     }
 
     /**
@@ -179,6 +191,41 @@ class HumanEntityCache {
      * @since 0.4.0
      */
     private fun clearCache() {
+        inventories.keys.forEach(Consumer { humanEntity: HumanEntity -> release(humanEntity.uniqueId) })
         inventories.clear()
     }
+
+    companion object {
+        /**
+         * The unique ids of the human entities whose inventory is stored in any cache, with the amount of caches they
+         * are stored in
+         */
+        private val CACHED_ENTITIES: MutableMap<UUID, Int> = ConcurrentHashMap()
+
+        /**
+         * Checks whether the inventory of the human entity with the specified unique id is stored in any cache. This
+         * is the case while a gui using the player inventory is open for this human entity. This is a single lookup,
+         * which makes it suitable for rejecting events of human entities that are not in such a gui.
+         *
+         * @param uuid the unique id of the human entity
+         * @return true if the inventory of the human entity is cached, false otherwise
+         * @since 0.11.0
+         */
+        @JvmStatic
+        @Contract(pure = true)
+        fun isCached(uuid: UUID): Boolean {
+            return CACHED_ENTITIES.containsKey(uuid)
+        }
+
+        /**
+         * Removes one cache from the human entity with the specified unique id, forgetting the human entity once it is
+         * no longer stored in any cache.
+         *
+         * @param uuid the unique id of the human entity
+         * @since 0.11.0
+         */
+        private fun release(uuid: UUID) {
+            CACHED_ENTITIES.computeIfPresent(uuid) { _, count -> if (count <= 1) null else count - 1 }
+        }
+    }
 }
@@ -2,47 +2,68 @@ package com.github.stefvanschie.inventoryframework.font
 
 import com.github.stefvanschie.inventoryframework.font.util.Font
 import com.github.stefvanschie.inventoryframework.util.CSVUtil
-import com.github.stefvanschie.inventoryframework.util.SkullUtil
 import org.bukkit.inventory.ItemStack
 import org.jetbrains.annotations.Contract
 import java.io.IOException
-import java.util.stream.Collectors
 
 /**
  * A font for characters with a space as default character. Only one instance of this class should ever exist and should
- * be used everywhere.
+ * be used everywhere. The glyphs are only read once a character is first requested, and the item for a character is
+ * only created once that character is first requested, so fonts that are never used cost nothing.
+ *
+ * The glyphs are read from the glyph table compiled from the csv file during the build, which has the same path as the
+ * csv file, but with the `glyphs` extension. If there is no compiled glyph table, the csv file is read instead.
  *
  * @param defaultCharacter the default character to use when a requested character cannot be found
  * @param filePath the relative file path to the csv file containing the character mappings
  *
  * @since 0.5.0
  */
-class CSVFont(private val defaultCharacter: Char, filePath: String) : Font() {
+class CSVFont(private val defaultCharacter: Char, private val filePath: String) : Font() {
 
     /**
-     * A map with all the items and their dedicated characters
+     * The glyphs of this font, read on first access
      */
-    private var characterMappings: Map<Char, ItemStack>? = null
+    private val lazyGlyphTable: Lazy<GlyphTable?> = lazy { readGlyphTable() }
 
-    init {
+    /**
+     * The glyphs of this font
+     */
+    private val glyphTable: GlyphTable? by lazyGlyphTable
+
+    /**
+     * Gets whether the glyphs of this font have been read. This only happens once a character is first requested.
+     *
+     * @return true if the glyphs have been read, false otherwise
+     * @since 0.11.0
+     */
+    @get:Contract(pure = true)
+    val isLoaded: Boolean
+        get() = lazyGlyphTable.isInitialized()
+
+    override val defaultItem: ItemStack?
+        get() = toItem(defaultCharacter)
+
+    @Contract(pure = true)
+    override fun toItem(character: Char): ItemStack? = glyphTable?.getItem(character)
+
+    /**
+     * Reads the glyphs of this font, preferring the compiled glyph table over the csv file.
+     *
+     * @return the glyphs, or null if neither the glyph table nor the csv file exist
+     * @since 0.11.0
+     */
+    private fun readGlyphTable(): GlyphTable? {
         try {
+            javaClass.getResourceAsStream(filePath.removeSuffix(".csv") + ".glyphs")?.use {
+                return GlyphTable.read(it)
+            }
+
             javaClass.getResourceAsStream(filePath).use { inputStream ->
-                characterMappings = inputStream?.let {
-                    CSVUtil.readAll(it).stream()
-                        .collect(
-                            Collectors.toMap(
-                                { keys: Array<String> -> keys[0][0] },
-                                { values: Array<String> -> SkullUtil.getSkull(values[1]) })
-                        )
-                }
+                return inputStream?.let { GlyphTable.fromCsv(CSVUtil.readAll(it)) }
             }
         } catch (exception: IOException) {
             throw RuntimeException("Error loading CSV-based font: $filePath", exception)
         }
     }
-
-    override val defaultItem: ItemStack? = characterMappings?.get(defaultCharacter)
-
-    @Contract(pure = true)
-    override fun toItem(character: Char) = characterMappings?.get(character)
 }
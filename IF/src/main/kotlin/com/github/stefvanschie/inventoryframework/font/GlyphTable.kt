@@ -0,0 +1,198 @@
+package com.github.stefvanschie.inventoryframework.font
+
+import com.github.stefvanschie.inventoryframework.util.SkullUtil
+import org.bukkit.inventory.ItemStack
+import org.jetbrains.annotations.Contract
+import java.io.DataInputStream
+import java.io.IOException
+import java.io.InputStream
+import java.util.*
+import java.util.concurrent.atomic.AtomicReferenceArray
+
+/**
+ * The glyphs of a font, indexed by character. Glyphs of ASCII characters are stored in arrays indexed directly by the
+ * character, while other glyphs are stored in sorted arrays that are binary searched. The item of a glyph is only
+ * created once it is first requested.
+ *
+ * @param characters the characters of the glyphs, in ascending order
+ * @param skullIds the skull ids of the glyphs, in the same order as the characters
+ * @since 0.11.0
+ */
+internal class GlyphTable(characters: CharArray, skullIds: Array<String>) {
+
+    /**
+     * The skull ids of the ASCII glyphs, indexed by their character
+     */
+    private val asciiSkullIds: Array<String?> = arrayOfNulls(ASCII_SIZE)
+
+    /**
+     * The items of the ASCII glyphs that have been created, indexed by their character
+     */
+    private val asciiItems: AtomicReferenceArray<ItemStack?> = AtomicReferenceArray(ASCII_SIZE)
+
+    /**
+     * The characters of the other glyphs, in ascending order
+     */
+    private val sparseCharacters: CharArray
+
+    /**
+     * The skull ids of the other glyphs, in the same order as [sparseCharacters]
+     */
+    private val sparseSkullIds: Array<String>
+
+    /**
+     * The items of the other glyphs that have been created, in the same order as [sparseCharacters]
+     */
+    private val sparseItems: AtomicReferenceArray<ItemStack?>
+
+    init {
+        require(characters.size == skullIds.size) { "Every character must have a skull id" }
+
+        var asciiCount: Int = 0
+
+        while (asciiCount < characters.size && characters[asciiCount].code < ASCII_SIZE) {
+            asciiSkullIds[characters[asciiCount].code] = skullIds[asciiCount]
+            asciiCount++
+        }
+
+        this.sparseCharacters = characters.copyOfRange(asciiCount, characters.size)
+        this.sparseSkullIds = skullIds.copyOfRange(asciiCount, skullIds.size)
+        this.sparseItems = AtomicReferenceArray(sparseCharacters.size)
+    }
+
+    /**
+     * Gets the skull id of the glyph for the specified character.
+     *
+     * @param character the character
+     * @return the skull id, or null if there is no glyph for the character
+     * @since 0.11.0
+     */
+    @Contract(pure = true)
+    fun getSkullId(character: Char): String? {
+        if (character.code < ASCII_SIZE) {
+            return asciiSkullIds[character.code]
+        }
+
+        val index: Int = Arrays.binarySearch(sparseCharacters, character)
+
+        return if (index < 0) null else sparseSkullIds[index]
+    }
+
+    /**
+     * Gets the item of the glyph for the specified character, creating it if it has not been requested before.
+     *
+     * @param character the character
+     * @return the item, or null if there is no glyph for the character
+     * @since 0.11.0
+     */
+    fun getItem(character: Char): ItemStack? {
+        if (character.code < ASCII_SIZE) {
+            return getItem(asciiItems, character.code, asciiSkullIds[character.code] ?: return null)
+        }
+
+        val index: Int = Arrays.binarySearch(sparseCharacters, character)
+
+        if (index < 0) {
+            return null
+        }
+
+        return getItem(sparseItems, index, sparseSkullIds[index])
+    }
+
+    /**
+     * Gets the item at the specified index, creating it from the specified skull id if it does not exist yet.
+     *
+     * @param items the items
+     * @param index the index of the item
+     * @param skullId the skull id to create the item from
+     * @return the item
+     * @since 0.11.0
+     */
+    private fun getItem(items: AtomicReferenceArray<ItemStack?>, index: Int, skullId: String): ItemStack {
+        val item: ItemStack? = items.get(index)
+
+        if (item != null) {
+            return item
+        }
+
+        val newItem: ItemStack = SkullUtil.getSkull(skullId)
+
+        return if (items.compareAndSet(index, null, newItem)) newItem else items.get(index)!!
+    }
+
+    companion object {
+        /**
+         * The magic number at the start of every binary glyph table
+         */
+        private const val MAGIC: Int = 0x49464754
+
+        /**
+         * The version of the binary glyph table format
+         */
+        private const val VERSION: Int = 1
+
+        /**
+         * The amount of ASCII characters, which are stored densely
+         */
+        private const val ASCII_SIZE: Int = 128
+
+        /**
+         * Reads a glyph table in the binary format produced by the build. The format consists of the magic number
+         * `0x49464754` as an int, the format version as a byte, the amount of glyphs as an int and then, for every
+         * glyph in ascending order of character, the character as a char followed by the skull id in modified UTF-8.
+         *
+         * @param inputStream the input stream to read from
+         * @return the glyph table
+         * @throws IOException when reading fails or the input is not a glyph table
+         * @since 0.11.0
+         */
+        @JvmStatic
+        @Throws(IOException::class)
+        fun read(inputStream: InputStream): GlyphTable {
+            val stream = DataInputStream(inputStream.buffered())
+
+            if (stream.readInt() != MAGIC) {
+                throw IOException("Input is not a glyph table")
+            }
+
+            val version: Int = stream.readUnsignedByte()
+
+            if (version != VERSION) {
+                throw IOException("Unsupported glyph table version $version")
+            }
+
+            val size: Int = stream.readInt()
+            val characters = CharArray(size)
+            val skullIds = arrayOfNulls<String>(size)
+
+            for (index in 0 until size) {
+                characters[index] = stream.readChar()
+                skullIds[index] = stream.readUTF()
+            }
+
+            @Suppress("UNCHECKED_CAST")
+            return GlyphTable(characters, skullIds as Array<String>)
+        }
+
+        /**
+         * Creates a glyph table from the rows of a csv font file, as read by
+         * [com.github.stefvanschie.inventoryframework.util.CSVUtil.readAll]. The first value of every row is the
+         * character and the second value is the skull id.
+         *
+         * @param rows the rows of the csv file
+         * @return the glyph table
+         * @since 0.11.0
+         */
+        @JvmStatic
+        @Contract(pure = true)
+        fun fromCsv(rows: List<Array<String?>>): GlyphTable {
+            val glyphs: SortedMap<Char, String> = TreeMap()
+
+            for (row: Array<String?> in rows) {
+                glyphs[row[0]!![0]] = row[1]!!
+            }
+
+            return GlyphTable(glyphs.keys.toCharArray(), glyphs.values.toTypedArray())
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.github.stefvanschie.inventoryframework.gui
+
+import com.github.stefvanschie.inventoryframework.util.SchedulerUtil
+import org.bukkit.entity.HumanEntity
+import org.bukkit.event.inventory.InventoryClickEvent
+import org.bukkit.plugin.Plugin
+import org.bukkit.plugin.java.JavaPlugin
+import org.jetbrains.annotations.Contract
+import java.util.*
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+import java.util.concurrent.RejectedExecutionException
+import java.util.function.Consumer
+import java.util.function.Function
+import java.util.logging.Level
+
+/**
+ * A click action that runs its handler off the server thread. When clicked, the event is cancelled immediately and the
+ * handler is run with a [ClickSnapshot] of the event on a separate (virtual, if available) thread. The handler may
+ * return a task that changes the gui, for example by updating items or showing another gui, which is then run on the
+ * thread owning the clicking human entity. While a handler is running for a human entity, further clicks by that
+ * human entity are cancelled without running the handler again, so spam clicking does not start many concurrent
+ * handlers.
+ *
+ * The handler only receives a snapshot of the click, since the event itself is processed and reused by the server by
+ * the time the handler runs. The handler should not access the world, entities or inventories, other than via the
+ * returned task. The threads running the handlers are shut down when the plugin owning the gui listener is disabled.
+ *
+ * @param handler the handler to run when clicked
+ * @param plugin the plugin owning the tasks of this action
+ * @since 0.11.0
+ */
+class AsyncClickAction @JvmOverloads constructor(
+    /**
+     * The handler to run when clicked
+     */
+    private val handler: Function<ClickSnapshot, Runnable?>,
+    /**
+     * The plugin owning the tasks of this action
+     */
+    private val plugin: Plugin = JavaPlugin.getProvidingPlugin(AsyncClickAction::class.java)
+) : Consumer<InventoryClickEvent> {
+
+    /**
+     * The unique ids of the human entities for whom a handler is currently running
+     */
+    private val inFlight: MutableSet<UUID> = ConcurrentHashMap.newKeySet()
+
+    /**
+     * Cancels the event and runs the handler asynchronously with a snapshot of the event, unless the handler is already
+     * running for the human entity that clicked.
+     *
+     * @param event the event to handle
+     * @since 0.11.0
+     */
+    override fun accept(event: InventoryClickEvent) {
+        event.setCancelled(true)
+
+        val humanEntity: HumanEntity = event.getWhoClicked()
+        val viewer: UUID = humanEntity.getUniqueId()
+
+        if (!inFlight.add(viewer)) {
+            return
+        }
+
+        val snapshot = ClickSnapshot(event)
+
+        try {
+            getExecutor().execute { handle(snapshot, humanEntity) }
+        } catch (exception: RejectedExecutionException) {
+            inFlight.remove(viewer)
+
+            throw exception
+        }
+    }
+
+    /**
+     * Gets whether the handler is currently running for the human entity with the specified unique id.
+     *
+     * @param viewer the unique id of the human entity
+     * @return true if the handler is running, false otherwise
+     * @since 0.11.0
+     */
+    @Contract(pure = true)
+    fun isInFlight(viewer: UUID): Boolean {
+        return inFlight.contains(viewer)
+    }
+
+    /**
+     * Runs the handler and schedules the returned task on the thread owning the human entity.
+     *
+     * @param snapshot the snapshot of the click to handle
+     * @param humanEntity the human entity that clicked
+     * @since 0.11.0
+     */
+    private fun handle(snapshot: ClickSnapshot, humanEntity: HumanEntity) {
+        val task: Runnable?
+
+        try {
+            task = handler.apply(snapshot)
+        } catch (t: Throwable) {
+            plugin.getLogger().log(
+                Level.SEVERE, "Exception while asynchronously handling click event for '" + humanEntity.getName() +
+                        "', slot=" + snapshot.slot, t
+            )
+
+            return
+        } finally {
+            inFlight.remove(snapshot.viewer)
+        }
+
+        if (task == null) {
+            return
+        }
+
+        SchedulerUtil.instance.runTask(plugin, humanEntity, task, null)
+    }
+
+    companion object {
+        /**
+         * The executor running the handlers, or null if it has not been created yet or was shut down
+         */
+        private var executor: ExecutorService? = null
+
+        /**
+         * Gets the executor running the handlers, creating it if it does not exist. Virtual threads are used when the
+         * runtime supports them.
+         *
+         * @return the executor
+         * @since 0.11.0
+         */
+        @Synchronized
+        private fun getExecutor(): ExecutorService {
+            val executor: ExecutorService? = this.executor
+
+            if (executor != null) {
+                return executor
+            }
+
+            val newExecutor: ExecutorService = try {
+                Executors.newVirtualThreadPerTaskExecutor()
+            } catch (error: NoSuchMethodError) {
+                Executors.newCachedThreadPool()
+            }
+
+            this.executor = newExecutor
+
+            return newExecutor
+        }
+
+        /**
+         * Shuts down the executor running the handlers. Handlers that are already running are completed, but the tasks
+         * they return are only run if their plugin is still enabled. A new executor is created once another handler
+         * needs to run.
+         *
+         * @since 0.11.0
+         */
+        @JvmStatic
+        @Synchronized
+        internal fun shutdown() {
+            executor?.shutdown()
+            executor = null
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package com.github.stefvanschie.inventoryframework.gui
+
+import org.jetbrains.annotations.Contract
+import java.util.*
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.atomic.AtomicLong
+import kotlin.math.min
+
+/**
+ * Limits how often human entities can click in guis, using token buckets. Every human entity has a bucket for all
+ * their clicks and a bucket for every [GuiItem] they click on. Each click takes a token from the relevant bucket and
+ * buckets are refilled at a fixed rate, up to their capacity. Clicks for which no token is available are cancelled
+ * without being handled. A limiter is only used once it is set via [instance].
+ *
+ * @param viewerCapacity the maximum amount of clicks a human entity can make in a burst
+ * @param viewerRefillRate the amount of clicks per second a human entity can sustainably make
+ * @param itemCapacity the maximum amount of clicks a human entity can make on a single item in a burst
+ * @param itemRefillRate the amount of clicks per second a human entity can sustainably make on a single item
+ * @since 0.11.0
+ */
+class ClickRateLimiter(
+    /**
+     * The maximum amount of clicks a human entity can make in a burst
+     */
+    private val viewerCapacity: Int,
+    /**
+     * The amount of clicks per second a human entity can sustainably make
+     */
+    private val viewerRefillRate: Double,
+    /**
+     * The maximum amount of clicks a human entity can make on a single item in a burst
+     */
+    private val itemCapacity: Int,
+    /**
+     * The amount of clicks per second a human entity can sustainably make on a single item
+     */
+    private val itemRefillRate: Double
+) {
+    /**
+     * The buckets of each human entity, by the unique id of the human entity
+     */
+    private val viewers: MutableMap<UUID, ViewerBuckets> = ConcurrentHashMap()
+
+    /**
+     * The amount of clicks that were dropped because the human entity clicked too often
+     */
+    private val droppedViewerClicks: AtomicLong = AtomicLong()
+
+    /**
+     * The amount of clicks that were dropped because the human entity clicked an item too often
+     */
+    private val droppedItemClicks: AtomicLong = AtomicLong()
+
+    init {
+        require(viewerCapacity > 0 && itemCapacity > 0) { "Capacities must be positive" }
+        require(viewerRefillRate > 0 && itemRefillRate > 0) { "Refill rates must be positive" }
+    }
+
+    /**
+     * Takes a token from the bucket of the human entity with the specified unique id, if one is available.
+     *
+     * @param viewer the unique id of the human entity that clicked
+     * @return true if the click may be handled, false if it should be dropped
+     * @since 0.11.0
+     */
+    fun tryClick(viewer: UUID): Boolean {
+        val buckets: ViewerBuckets = viewers.computeIfAbsent(viewer) { ViewerBuckets() }
+
+        if (buckets.viewerBucket.tryTake(viewerCapacity, viewerRefillRate)) {
+            return true
+        }
+
+        droppedViewerClicks.incrementAndGet()
+
+        return false
+    }
+
+    /**
+     * Takes a token from the bucket of the human entity with the specified unique id for the specified item, if one is
+     * available. Copies of a gui item share their bucket.
+     *
+     * @param viewer the unique id of the human entity that clicked
+     * @param item the item that was clicked
+     * @return true if the click may be handled, false if it should be dropped
+     * @since 0.11.0
+     */
+    fun tryClick(viewer: UUID, item: GuiItem): Boolean {
+        val buckets: ViewerBuckets = viewers.computeIfAbsent(viewer) { ViewerBuckets() }
+        val bucket: TokenBucket = buckets.itemBuckets.computeIfAbsent(item.uUID) { TokenBucket(itemCapacity) }
+
+        if (bucket.tryTake(itemCapacity, itemRefillRate)) {
+            return true
+        }
+
+        droppedItemClicks.incrementAndGet()
+
+        return false
+    }
+
+    /**
+     * Removes all buckets of the human entity with the specified unique id. This should be called once the human entity
+     * no longer has a gui open.
+     *
+     * @param viewer the unique id of the human entity
+     * @since 0.11.0
+     */
+    fun forget(viewer: UUID) {
+        viewers.remove(viewer)
+    }
+
+    /**
+     * Gets the amount of clicks that were dropped, because the human entity clicked too often.
+     *
+     * @return the amount of dropped clicks
+     * @since 0.11.0
+     */
+    @Contract(pure = true)
+    fun getDroppedViewerClicks(): Long {
+        return droppedViewerClicks.get()
+    }
+
+    /**
+     * Gets the amount of clicks that were dropped, because the human entity clicked the same item too often.
+     *
+     * @return the amount of dropped clicks
+     * @since 0.11.0
+     */
+    @Contract(pure = true)
+    fun getDroppedItemClicks(): Long {
+        return droppedItemClicks.get()
+    }
+
+    /**
+     * The buckets of a single human entity.
+     *
+     * @since 0.11.0
+     */
+    private inner class ViewerBuckets {
+        /**
+         * The bucket for all clicks of the human entity
+         */
+        val viewerBucket: TokenBucket = TokenBucket(viewerCapacity)
+
+        /**
+         * The buckets for the clicks on each item, by the unique id of the item
+         */
+        val itemBuckets: MutableMap<UUID, TokenBucket> = ConcurrentHashMap()
+    }
+
+    /**
+     * A bucket of tokens that is refilled over time.
+     *
+     * @param tokens the initial amount of tokens
+     * @since 0.11.0
+     */
+    private class TokenBucket(tokens: Int) {
+        /**
+         * The amount of tokens currently in this bucket
+         */
+        private var tokens: Double = tokens.toDouble()
+
+        /**
+         * The time at which the tokens were last refilled, in nanoseconds
+         */
+        private var lastRefill: Long = System.nanoTime()
+
+        /**
+         * Refills this bucket and takes a token from it, if one is available.
+         *
+         * @param capacity the maximum amount of tokens in this bucket
+         * @param refillRate the amount of tokens added per second
+         * @return true if a token was taken, false otherwise
+         * @since 0.11.0
+         */
+        @Synchronized
+        fun tryTake(capacity: Int, refillRate: Double): Boolean {
+            val now: Long = System.nanoTime()
+
+            tokens = min(capacity.toDouble(), tokens + (now - lastRefill) * refillRate / 1_000_000_000.0)
+            lastRefill = now
+
+            if (tokens < 1) {
+                return false
+            }
+
+            tokens--
+
+            return true
+        }
+    }
+
+    companion object {
+        /**
+         * Gets the limiter applied to all clicks in guis, or null if clicks are not limited.
+         *
+         * @return the click limiter or null
+         * @since 0.11.0
+         */
+        /**
+         * Sets the limiter applied to all clicks in guis. Set to null to stop limiting clicks, which is the default.
+         *
+         * @param instance the click limiter or null
+         * @since 0.11.0
+         */
+        @JvmStatic
+        @get:Contract(pure = true)
+        var instance: ClickRateLimiter? = null
+    }
+}
@@ -0,0 +1,116 @@
+package com.github.stefvanschie.inventoryframework.gui
+
+import org.bukkit.event.inventory.ClickType
+import org.bukkit.event.inventory.InventoryAction
+import org.bukkit.event.inventory.InventoryClickEvent
+import org.bukkit.event.inventory.InventoryType
+import org.bukkit.inventory.ItemStack
+import org.jetbrains.annotations.Contract
+import java.util.*
+
+/**
+ * An immutable copy of the information of an [InventoryClickEvent], taken while the event is being handled. Unlike the
+ * event itself, a snapshot can safely be read from any thread and at any time after the click, see
+ * [AsyncClickAction]. The items of a snapshot are copies, so changing them has no effect on the inventory.
+ *
+ * @param event the event to take a snapshot of
+ * @since 0.11.0
+ */
+class ClickSnapshot internal constructor(event: InventoryClickEvent) {
+
+    /**
+     * Gets the unique id of the human entity that clicked.
+     *
+     * @return the unique id of the human entity
+     * @since 0.11.0
+     */
+    @get:Contract(pure = true)
+    val viewer: UUID = event.getWhoClicked().getUniqueId()
+
+    /**
+     * Gets the slot that was clicked, as an index in the clicked inventory, see [InventoryClickEvent.getSlot].
+     *
+     * @return the slot
+     * @since 0.11.0
+     */
+    @get:Contract(pure = true)
+    val slot: Int = event.getSlot()
+
+    /**
+     * Gets the raw slot that was clicked, see [InventoryClickEvent.getRawSlot].
+     *
+     * @return the raw slot
+     * @since 0.11.0
+     */
+    @get:Contract(pure = true)
+    val rawSlot: Int = event.getRawSlot()
+
+    /**
+     * Gets the type of the slot that was clicked.
+     *
+     * @return the slot type
+     * @since 0.11.0
+     */
+    @get:Contract(pure = true)
+    val slotType: InventoryType.SlotType = event.getSlotType()
+
+    /**
+     * Gets the type of the click.
+     *
+     * @return the click type
+     * @since 0.11.0
+     */
+    @get:Contract(pure = true)
+    val click: ClickType = event.getClick()
+
+    /**
+     * Gets the action the click would have performed, had it not been cancelled.
+     *
+     * @return the inventory action
+     * @since 0.11.0
+     */
+    @get:Contract(pure = true)
+    val action: InventoryAction = event.getAction()
+
+    /**
+     * Gets the hotbar button that was pressed, or -1 if no hotbar button was pressed, see
+     * [InventoryClickEvent.getHotbarButton].
+     *
+     * @return the hotbar button
+     * @since 0.11.0
+     */
+    @get:Contract(pure = true)
+    val hotbarButton: Int = event.getHotbarButton()
+
+    /**
+     * The item on the cursor at the time of the click
+     */
+    private val cursor: ItemStack? = event.getCursor()?.clone()
+
+    /**
+     * The item in the clicked slot at the time of the click
+     */
+    private val currentItem: ItemStack? = event.getCurrentItem()?.clone()
+
+    /**
+     * Gets a copy of the item that was on the cursor at the time of the click.
+     *
+     * @return the cursor item or null
+     * @since 0.11.0
+     */
+    @Contract(pure = true)
+    fun getCursor(): ItemStack? {
+        return cursor?.clone()
+    }
+
+    /**
+     * Gets a copy of the item that was in the clicked slot at the time of the click.
+     *
+     * @return the clicked item or null
+     * @since 0.11.0
+     */
+    @Contract(pure = true)
+    fun getCurrentItem(): ItemStack? {
+        return currentItem?.clone()
+    }
+}
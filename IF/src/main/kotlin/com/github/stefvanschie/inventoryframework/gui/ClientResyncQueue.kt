@@ -0,0 +1,175 @@
+package com.github.stefvanschie.inventoryframework.gui
+
+import com.github.stefvanschie.inventoryframework.util.SchedulerUtil
+import org.bukkit.entity.HumanEntity
+import org.bukkit.inventory.PlayerInventory
+import org.bukkit.plugin.Plugin
+import org.jetbrains.annotations.Contract
+import java.util.*
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.atomic.AtomicLong
+
+/**
+ * Collects the corrections that need to be sent to clients after clicks, such as re-sending the off-hand item or the
+ * items of a gui, and sends them once on the next tick. However often a human entity clicks during a tick, every
+ * correction is sent at most once, and a single task is scheduled per human entity.
+ *
+ * @since 0.11.0
+ */
+object ClientResyncQueue {
+
+    /**
+     * The pending corrections for each human entity, by the unique id of the human entity
+     */
+    private val PENDING: MutableMap<UUID, PendingResync> = ConcurrentHashMap()
+
+    /**
+     * The amount of corrections that were merged into an already queued correction
+     */
+    private val MERGED_COUNT: AtomicLong = AtomicLong()
+
+    /**
+     * The time in nanoseconds after which pending corrections whose flush has not run are assumed to be dropped
+     */
+    private const val STALE_AFTER: Long = 1_000_000_000L
+
+    /**
+     * Queues the off-hand item of the specified human entity to be sent again. Due to a client issue, off-hand items
+     * appear as ghost items after cancelled clicks.
+     *
+     * @param plugin the plugin to schedule the flush with
+     * @param humanEntity the human entity whose off-hand item to send
+     * @since 0.11.0
+     */
+    @JvmStatic
+    fun queueOffHand(plugin: Plugin, humanEntity: HumanEntity) {
+        val pending: PendingResync = getPending(plugin, humanEntity)
+
+        synchronized(pending) {
+            if (pending.offHand) {
+                MERGED_COUNT.incrementAndGet()
+            }
+
+            pending.offHand = true
+        }
+    }
+
+    /**
+     * Queues the specified correction for the specified human entity. A correction queued under the same key during
+     * this tick is replaced, so the correction should read the state to send when it runs, not when it is queued.
+     *
+     * @param plugin the plugin to schedule the flush with
+     * @param humanEntity the human entity to correct
+     * @param key the key identifying the correction, for example the gui that queued it
+     * @param resync the correction
+     * @since 0.11.0
+     */
+    @JvmStatic
+    fun queue(plugin: Plugin, humanEntity: HumanEntity, key: Any, resync: Runnable) {
+        val pending: PendingResync = getPending(plugin, humanEntity)
+
+        synchronized(pending) {
+            if (pending.resyncs.put(key, resync) != null) {
+                MERGED_COUNT.incrementAndGet()
+            }
+        }
+    }
+
+    /**
+     * Gets the amount of corrections that were merged into an already queued correction, instead of being sent
+     * separately.
+     *
+     * @return the amount of merged corrections
+     * @since 0.11.0
+     */
+    @JvmStatic
+    @Contract(pure = true)
+    fun getMergedCount(): Long {
+        return MERGED_COUNT.get()
+    }
+
+    /**
+     * Gets the pending corrections of the specified human entity, scheduling a flush if there were none. If the pending
+     * corrections are older than [STALE_AFTER], their flush is assumed to be dropped without notice, for example
+     * because the plugin was disabled, so they are replaced and a new flush is scheduled.
+     *
+     * @param plugin the plugin to schedule the flush with
+     * @param humanEntity the human entity
+     * @return the pending corrections
+     * @since 0.11.0
+     */
+    private fun getPending(plugin: Plugin, humanEntity: HumanEntity): PendingResync {
+        val viewer: UUID = humanEntity.getUniqueId()
+        val now: Long = System.nanoTime()
+        var created: Boolean = false
+
+        val pending: PendingResync = PENDING.compute(viewer) { _, existing ->
+            if (existing != null && now - existing.createdAt < STALE_AFTER) {
+                return@compute existing
+            }
+
+            created = true
+
+            PendingResync(now)
+        }!!
+
+        if (created) {
+            SchedulerUtil.instance.runTask(
+                plugin,
+                humanEntity,
+                Runnable { flush(humanEntity, pending) },
+                Runnable { PENDING.remove(viewer, pending) }
+            )
+        }
+
+        return pending
+    }
+
+    /**
+     * Sends the specified pending corrections of the specified human entity.
+     *
+     * @param humanEntity the human entity
+     * @param pending the pending corrections
+     * @since 0.11.0
+     */
+    private fun flush(humanEntity: HumanEntity, pending: PendingResync) {
+        //only remove these corrections, a stale entry may have been replaced in the meantime
+        PENDING.remove(humanEntity.getUniqueId(), pending)
+
+        val offHand: Boolean
+        val resyncs: Collection<Runnable>
+
+        synchronized(pending) {
+            offHand = pending.offHand
+            resyncs = ArrayList(pending.resyncs.values)
+        }
+
+        if (offHand) {
+            val playerInventory: PlayerInventory = humanEntity.getInventory()
+
+            playerInventory.setItemInOffHand(playerInventory.getItemInOffHand())
+        }
+
+        for (resync: Runnable in resyncs) {
+            resync.run()
+        }
+    }
+
+    /**
+     * The corrections pending for a single human entity.
+     *
+     * @param createdAt the time at which these corrections were first queued, as per [System.nanoTime]
+     * @since 0.11.0
+     */
+    private class PendingResync(val createdAt: Long) {
+        /**
+         * Whether the off-hand item should be sent again
+         */
+        var offHand: Boolean = false
+
+        /**
+         * The other corrections, by their key
+         */
+        val resyncs: MutableMap<Any, Runnable> = LinkedHashMap()
+    }
+}
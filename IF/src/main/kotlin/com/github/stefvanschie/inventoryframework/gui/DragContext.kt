@@ -0,0 +1,108 @@
+package com.github.stefvanschie.inventoryframework.gui
+
+import org.bukkit.entity.HumanEntity
+import org.bukkit.event.inventory.InventoryDragEvent
+import org.bukkit.inventory.ItemStack
+import org.jetbrains.annotations.Contract
+
+/**
+ * The state of a drag while it is being dispatched to the panes of a gui. A drag affecting multiple slots is
+ * dispatched once for every affected slot, with [rawSlot] indicating the slot currently being dispatched. Every human
+ * entity has a single context that is reused for all their drags, so a context should not be stored beyond the
+ * callback it was passed to.
+ *
+ * @since 0.11.0
+ */
+class DragContext internal constructor() {
+
+    /**
+     * The event of the drag currently being dispatched
+     */
+    private var event: InventoryDragEvent? = null
+
+    /**
+     * Gets the raw slot currently being dispatched. This is one of the raw slots of [getEvent].
+     *
+     * @return the raw slot
+     * @since 0.11.0
+     */
+    @get:Contract(pure = true)
+    var rawSlot: Int = -1
+        internal set
+
+    /**
+     * Gets the event of the drag currently being dispatched.
+     *
+     * @return the drag event
+     * @throws IllegalStateException if no drag is being dispatched
+     * @since 0.11.0
+     */
+    @Contract(pure = true)
+    fun getEvent(): InventoryDragEvent {
+        return checkNotNull(event) { "No drag is being dispatched" }
+    }
+
+    /**
+     * Gets the human entity performing the drag.
+     *
+     * @return the human entity
+     * @since 0.11.0
+     */
+    @Contract(pure = true)
+    fun getWhoClicked(): HumanEntity {
+        return getEvent().getWhoClicked()
+    }
+
+    /**
+     * Gets the item that will be placed in the slot currently being dispatched, if the drag is not cancelled.
+     *
+     * @return the new item or null
+     * @since 0.11.0
+     */
+    @Contract(pure = true)
+    fun getNewItem(): ItemStack? {
+        return getEvent().getNewItems()[rawSlot]
+    }
+
+    /**
+     * Gets whether the drag is cancelled.
+     *
+     * @return true if the drag is cancelled, false otherwise
+     * @since 0.11.0
+     */
+    @Contract(pure = true)
+    fun isCancelled(): Boolean {
+        return getEvent().isCancelled()
+    }
+
+    /**
+     * Sets whether the drag is cancelled. A drag is cancelled for all slots at once.
+     *
+     * @param cancelled whether the drag should be cancelled
+     * @since 0.11.0
+     */
+    fun setCancelled(cancelled: Boolean) {
+        getEvent().setCancelled(cancelled)
+    }
+
+    /**
+     * Prepares this context for dispatching the specified event.
+     *
+     * @param event the drag event
+     * @since 0.11.0
+     */
+    internal fun reset(event: InventoryDragEvent) {
+        this.event = event
+        this.rawSlot = -1
+    }
+
+    /**
+     * Releases the event after dispatching, so it can be garbage collected.
+     *
+     * @since 0.11.0
+     */
+    internal fun release() {
+        this.event = null
+        this.rawSlot = -1
+    }
+}
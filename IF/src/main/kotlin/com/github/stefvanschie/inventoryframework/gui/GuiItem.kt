@@ -2,6 +2,7 @@ package com.github.stefvanschie.inventoryframework.gui
 
 import com.github.stefvanschie.inventoryframework.util.InventoryViewUtil.instance
 import com.github.stefvanschie.inventoryframework.util.UUIDTagType
+import com.github.stefvanschie.inventoryframework.util.UUIDUtil
 import org.bukkit.NamespacedKey
 import org.bukkit.event.inventory.InventoryClickEvent
 import org.bukkit.inventory.ItemStack
@@ -10,6 +11,7 @@ import org.bukkit.plugin.Plugin
 import org.jetbrains.annotations.Contract
 import java.util.*
 import java.util.function.Consumer
+import java.util.function.Function
 import java.util.logging.Level
 import java.util.logging.Logger
 
@@ -17,10 +19,7 @@ import java.util.logging.Logger
  * An item for in an inventory
  */
 class GuiItem private constructor(
-    /**
-     * The items shown
-     */
-    @get:Contract(pure = true) var item: ItemStack,
+    item: ItemStack,
     /**
      * An action for the inventory
      */
@@ -33,7 +32,11 @@ class GuiItem private constructor(
      * The [NamespacedKey] that specifies the location of the (internal) [UUID] in [PersistentDataContainer]s.
      * The [PersistentDataType] that should be used is [UUIDTagType].
      */
-    @get:Contract(pure = true) val key: NamespacedKey
+    @get:Contract(pure = true) val key: NamespacedKey,
+    /**
+     * Whether the item is shared with other gui items, in which case it is copied before it is handed out or changed
+     */
+    private var isShared: Boolean = false
 ) {
     /**
      * Gets the namespaced key used for this item.
@@ -48,16 +51,40 @@ class GuiItem private constructor(
     private var properties: List<Any>
 
     /**
-     * Returns the item
+     * The item of this gui item, which may be shared with other gui items
+     */
+    private var stack: ItemStack = item
+
+    /**
+     * Returns the item. If the item is shared with other gui items, it is replaced by a copy first, so changes to the
+     * returned item only affect this gui item.
      *
      * @return the item that belongs to this gui item
      */
     /**
-     * Overwrites the current item with the provided item.
+     * Overwrites the current item with the provided item. This is also required after modifying the returned item
+     * directly, for the modification to be displayed, unless [invalidate] is called instead or the modification was
+     * made via [setItemMeta].
      *
      * @param item the item to set
      * @since 0.10.8
      */
+    var item: ItemStack
+        get() {
+            unshare()
+
+            return stack
+        }
+        set(item) {
+            this.stack = item
+            this.bakedItem = null
+            this.isShared = false
+        }
+
+    /**
+     * The item as it is placed in inventories, or null if it has to be created again
+     */
+    private var bakedItem: ItemStack? = null
 
     /**
      * Whether this item is visible or not
@@ -75,7 +102,7 @@ class GuiItem private constructor(
      * Internal UUID for keeping track of this item
      */
     @get:Contract(pure = true)
-    var uUID: UUID = UUID.randomUUID()
+    var uUID: UUID = UUIDUtil.nextUUID()
         private set
 
     /**
@@ -118,6 +145,19 @@ class GuiItem private constructor(
         event: org.bukkit.event.inventory.InventoryClickEvent? ->
     }, plugin)
 
+    /**
+     * Creates a new gui item for an item stack that is shared with other gui items. The item stack is not tagged and is
+     * copied before this gui item changes it or hands it out via [item], so the other gui items are not affected.
+     *
+     * @param item the shared item stack
+     * @param plugin the owning plugin of this item
+     * @param shared whether the item stack is shared
+     * @since 0.11.0
+     */
+    internal constructor(item: ItemStack, plugin: Plugin, shared: Boolean) : this(
+        item, Consumer<InventoryClickEvent> {}, plugin.getLogger(), NamespacedKey(plugin, "IF-uuid"), shared
+    )
+
     /**
      * Creates a new gui item based on the given item, action, logger, and key. The logger will be used for logging
      * exceptions and the key is used for identification of this item.
@@ -132,7 +172,9 @@ class GuiItem private constructor(
         this.properties = ArrayList()
 
         //remove this call after the removal of InventoryComponent#setItem(ItemStack, int, int)
-        applyUUID()
+        if (isTaggingItems && !isShared) {
+            applyUUID()
+        }
     }
 
     /**
@@ -146,13 +188,18 @@ class GuiItem private constructor(
     @Contract(pure = true)
     fun copy(): GuiItem {
         val guiItem: GuiItem = GuiItem(
-            item.clone(),
+            stack.clone(),
             action, this.logger, this.key
         )
 
         guiItem.visible = visible
         guiItem.uUID = uUID
         guiItem.properties = ArrayList(properties)
+
+        if (!isTaggingItems) {
+            return guiItem
+        }
+
         val meta: ItemMeta? = guiItem.item.getItemMeta()
 
         if (meta != null) {
@@ -163,10 +210,69 @@ class GuiItem private constructor(
         return guiItem
     }
 
+    /**
+     * Gets the item as it should be placed in an inventory. This is a copy of [item] which, if items are tagged, has
+     * the internal UUID applied. The same instance is returned until this gui item is modified via [item],
+     * [setItemMeta], [applyUUID] or [setVisible], or until [invalidate] is called, so repeated renders of an unchanged
+     * item don't have to copy it. Changes made to [item] directly are therefore not displayed until [invalidate] is
+     * called. The returned item is shared and should not be modified.
+     *
+     * @return the item to display
+     * @since 0.11.0
+     */
+    fun getBakedItem(): ItemStack {
+        val bakedItem: ItemStack? = this.bakedItem
+
+        if (bakedItem != null) {
+            return bakedItem
+        }
+
+        val newBakedItem: ItemStack = stack.clone()
+
+        if (isTaggingItems) {
+            val meta: ItemMeta? = newBakedItem.getItemMeta()
+
+            if (meta != null) {
+                meta.getPersistentDataContainer().set(key, UUIDTagType.INSTANCE, uUID)
+                newBakedItem.setItemMeta(meta)
+            }
+        }
+
+        this.bakedItem = newBakedItem
+
+        return newBakedItem
+    }
+
+    /**
+     * Discards the item as it is placed in inventories, see [getBakedItem]. This should be called after modifying the
+     * item returned by [item] directly, for example by changing its amount, so the modification is displayed the next
+     * time this item is rendered.
+     *
+     * @since 0.11.0
+     */
+    fun invalidate() {
+        this.bakedItem = null
+    }
+
+    /**
+     * Sets the item meta of the underlying item. The change will be displayed the next time this item is rendered.
+     *
+     * @param meta the new item meta
+     * @return whether the item meta could be applied to the item
+     * @since 0.11.0
+     */
+    fun setItemMeta(meta: ItemMeta?): Boolean {
+        this.bakedItem = null
+
+        return item.setItemMeta(meta)
+    }
+
     /**
      * Calls the handler of the [InventoryClickEvent]
      * if such a handler was specified in the constructor.
      * Catches and logs all exceptions the handler might throw.
+     * Clicks on items that were clicked too often, see [ClickRateLimiter],
+     * are dropped before they reach the panes, so this is not called for them.
      *
      * @param event the event to handle
      * @since 0.6.0
@@ -182,7 +288,7 @@ class GuiItem private constructor(
             logger.log(
                 Level.SEVERE, ("Exception while handling click event in inventory '"
                         + instance.getTitle(event.getView()) + "', slot=" + event.getSlot() +
-                        ", item=" + item.getType()), t
+                        ", item=" + stack.getType()), t
             )
         }
     }
@@ -203,6 +309,19 @@ class GuiItem private constructor(
             )
             item.setItemMeta(meta)
         }
+
+        this.bakedItem = null
+    }
+
+    /**
+     * Replaces the item by a copy of it if it is shared with other gui items, so it can be changed safely.
+     *
+     * @since 0.11.0
+     */
+    private fun unshare() {
+        if (isShared) {
+            item = stack.clone()
+        }
     }
 
     /**
@@ -215,6 +334,18 @@ class GuiItem private constructor(
         this.action = action
     }
 
+    /**
+     * Sets the action to be executed when a human entity clicks on this item to a handler that runs off the server
+     * thread with a snapshot of the click, see [AsyncClickAction]. The task returned by the handler, if any, is run on
+     * the thread owning the human entity that clicked.
+     *
+     * @param handler the handler of this item
+     * @since 0.11.0
+     */
+    fun setAsyncAction(handler: Function<ClickSnapshot, Runnable?>) {
+        this.action = AsyncClickAction(handler)
+    }
+
     /**
      * Returns the list of properties
      *
@@ -252,5 +383,28 @@ class GuiItem private constructor(
      */
     fun setVisible(visible: Boolean) {
         this.visible = visible
+        this.bakedItem = null
+    }
+
+    companion object {
+        /**
+         * Gets whether gui items write their identifier into the persistent data container of their items.
+         *
+         * @return true if items are tagged, false otherwise
+         * @since 0.11.0
+         */
+        /**
+         * Sets whether gui items should write their identifier into the persistent data container of their items. When
+         * disabled, the item meta is neither read nor written when gui items are created, copied or rendered, and the
+         * items sent to players do not carry the identifier. Clicked items are then only identified by the slot they
+         * were rendered in, so items placed in an inventory component without a pane can no longer be matched to their
+         * gui item. This is enabled by default.
+         *
+         * @param taggingItems whether items should be tagged
+         * @since 0.11.0
+         */
+        @JvmStatic
+        @get:Contract(pure = true)
+        var isTaggingItems: Boolean = true
     }
 }
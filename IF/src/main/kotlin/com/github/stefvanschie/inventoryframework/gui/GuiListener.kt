@@ -1,9 +1,10 @@
 package com.github.stefvanschie.inventoryframework.gui
 
+import com.github.stefvanschie.inventoryframework.HumanEntityCache
 import com.github.stefvanschie.inventoryframework.gui.type.*
 import com.github.stefvanschie.inventoryframework.gui.type.util.Gui
 import com.github.stefvanschie.inventoryframework.util.InventoryViewUtil.instance
-import org.bukkit.Bukkit
+import com.github.stefvanschie.inventoryframework.util.SchedulerUtil
 import org.bukkit.entity.HumanEntity
 import org.bukkit.entity.LivingEntity
 import org.bukkit.entity.Player
@@ -16,6 +17,8 @@ import org.bukkit.event.server.PluginDisableEvent
 import org.bukkit.inventory.*
 import org.bukkit.plugin.Plugin
 import org.jetbrains.annotations.Contract
+import java.util.UUID
+import java.util.concurrent.ConcurrentHashMap
 import java.util.logging.Logger
 
 /**
@@ -37,9 +40,9 @@ class GuiListener
     private val plugin: Plugin
 ) : Listener {
     /**
-     * A collection of all [Gui] instances that have at least one viewer.
+     * The drag context of each human entity, by the unique id of the human entity
      */
-    private val activeGuiInstances: MutableSet<Gui> = HashSet()
+    private val dragContexts: MutableMap<UUID, DragContext> = ConcurrentHashMap()
 
     /**
      * Handles clicks in inventories
@@ -49,12 +52,30 @@ class GuiListener
      */
     @EventHandler(ignoreCancelled = true)
     fun onInventoryClick(event: InventoryClickEvent) {
-        val gui: Gui? = getGui(event.getInventory())
+        val gui: Gui? = getGui(event.getWhoClicked(), event.getInventory())
 
         if (gui == null) {
             return
         }
 
+        if (gui.isReadOnly) {
+            event.setCancelled(true)
+
+            //only the off-hand swap can make the client show a ghost item in the off-hand
+            if (event.getClick() == ClickType.SWAP_OFFHAND) {
+                ClientResyncQueue.queueOffHand(this.plugin, event.getWhoClicked())
+            }
+
+            return
+        }
+
+        val clickRateLimiter: ClickRateLimiter? = ClickRateLimiter.instance
+
+        if (clickRateLimiter != null && !clickRateLimiter.tryClick(event.getWhoClicked().getUniqueId())) {
+            event.setCancelled(true)
+            return
+        }
+
         val view: InventoryView = event.getView()
         val inventory: Inventory? = instance.getInventory(view, event.getRawSlot())
 
@@ -73,12 +94,37 @@ class GuiListener
         gui.click(event)
 
         if (event.isCancelled()) {
-            Bukkit.getScheduler().runTask(this.plugin, Runnable {
-                val playerInventory: PlayerInventory = event.getWhoClicked().getInventory()
-                /* due to a client issue off-hand items appear as ghost items, this updates the off-hand correctly
-                                  client-side */
-                playerInventory.setItemInOffHand(playerInventory.getItemInOffHand())
-            })
+            /* due to a client issue off-hand items appear as ghost items, this updates the off-hand correctly
+               client-side */
+            ClientResyncQueue.queueOffHand(this.plugin, event.getWhoClicked())
+        } else {
+            //the click may move items around, so the rendered items can no longer be relied upon
+            InventoryComponent.invalidateFrame(event.getInventory())
+            InventoryComponent.invalidateFrame(event.getWhoClicked().getInventory())
+        }
+    }
+
+    /**
+     * Resets the items into the correct positions for guis whose items are not managed by Bukkit. Events in inventories
+     * that do not belong to a gui are rejected before the inventory is inspected.
+     *
+     * @param event the event fired
+     * @since 0.11.0
+     */
+    @EventHandler(priority = EventPriority.HIGHEST)
+    fun resetItems(event: InventoryClickEvent) {
+        val gui: Gui? = getGui(event.getWhoClicked(), event.getInventory())
+
+        if (gui == null || event.getWhoClicked() !is Player) {
+            return
+        }
+
+        when (gui) {
+            is BeaconGui -> gui.handleClickEvent(event)
+            is CartographyTableGui -> gui.handleClickEvent(event)
+            is EnchantingTableGui -> gui.handleClickEvent(event)
+            is StonecutterGui -> gui.handleClickEvent(event)
+            else -> {}
         }
     }
 
@@ -105,7 +151,7 @@ class GuiListener
      * @param event the event fired
      * @since 0.8.0
      */
-    @EventHandler(priority = EventPriority.HIGHEST)
+    @Deprecated("no longer used internally")
     fun resetItemsBeacon(event: InventoryClickEvent) {
         val holder: InventoryHolder? = event.getInventory().getHolder()
 
@@ -122,7 +168,7 @@ class GuiListener
      * @param event the event fired
      * @since 0.8.0
      */
-    @EventHandler(priority = EventPriority.HIGHEST)
+    @Deprecated("no longer used internally")
     fun resetItemsCartographyTable(event: InventoryClickEvent) {
         val holder: InventoryHolder? = event.getInventory().getHolder()
 
@@ -139,7 +185,7 @@ class GuiListener
      * @param event the event fired
      * @since 0.8.0
      */
-    @EventHandler(priority = EventPriority.HIGHEST)
+    @Deprecated("no longer used internally")
     fun resetItemsEnchantingTable(event: InventoryClickEvent) {
         val holder: InventoryHolder? = event.getInventory().getHolder()
 
@@ -173,7 +219,7 @@ class GuiListener
      * @param event the event fired
      * @since 0.8.0
      */
-    @EventHandler(priority = EventPriority.HIGHEST)
+    @Deprecated("no longer used internally")
     fun resetItemsStonecutter(event: InventoryClickEvent) {
         val holder: InventoryHolder? = event.getInventory().getHolder()
 
@@ -194,7 +240,7 @@ class GuiListener
     fun onEntityPickupItem(event: EntityPickupItemEvent) {
         val entity: LivingEntity = event.getEntity()
 
-        if (entity !is HumanEntity) {
+        if (entity !is HumanEntity || !HumanEntityCache.isCached(entity.getUniqueId())) {
             return
         }
 
@@ -232,12 +278,17 @@ class GuiListener
      */
     @EventHandler
     fun onInventoryDrag(event: InventoryDragEvent) {
-        val gui: Gui? = getGui(event.getInventory())
+        val gui: Gui? = getGui(event.getWhoClicked(), event.getInventory())
 
         if (gui == null) {
             return
         }
 
+        if (gui.isReadOnly) {
+            event.setCancelled(true)
+            return
+        }
+
         val view: InventoryView = event.getView()
         val inventorySlots: Set<Int> = event.getRawSlots()
 
@@ -268,6 +319,25 @@ class GuiListener
             if (bottom) {
                 gui.callOnBottomDrag(event)
             }
+
+            val context: DragContext = dragContexts.computeIfAbsent(event.getWhoClicked().getUniqueId()) {
+                DragContext()
+            }
+
+            context.reset(event)
+
+            for (inventorySlot: Int in inventorySlots) {
+                context.rawSlot = inventorySlot
+
+                gui.drag(context)
+            }
+
+            context.release()
+
+            if (!event.isCancelled()) {
+                InventoryComponent.invalidateFrame(event.getInventory())
+                InventoryComponent.invalidateFrame(event.getWhoClicked().getInventory())
+            }
         } else {
             val index: Int = inventorySlots.toTypedArray<Int>().get(0)
             val slotType: InventoryType.SlotType = instance.getSlotType(view, index)
@@ -305,7 +375,7 @@ class GuiListener
      */
     @EventHandler(ignoreCancelled = true)
     fun onTradeSelect(event: TradeSelectEvent) {
-        val gui: Gui? = getGui(event.getInventory())
+        val gui: Gui? = getGui(event.getWhoClicked(), event.getInventory())
 
         if (gui !is MerchantGui) {
             return
@@ -329,20 +399,25 @@ class GuiListener
         }
 
         val humanEntity: HumanEntity = event.getPlayer()
-        val playerInventory: PlayerInventory = humanEntity.getInventory()
+
+        Gui.OPEN_GUIS.unregister(humanEntity.getUniqueId(), gui)
 
         //due to a client issue off-hand items appear as ghost items, this updates the off-hand correctly client-side
-        playerInventory.setItemInOffHand(playerInventory.getItemInOffHand())
+        ClientResyncQueue.queueOffHand(this.plugin, humanEntity)
 
-        if (!gui.isUpdating()) {
+        if (!gui.isUpdating() && !gui.isUpdating(humanEntity)) {
             gui.callOnClose(event)
 
             event.getInventory().clear() //clear inventory to prevent items being put back
+            InventoryComponent.invalidateFrame(event.getInventory())
 
             gui.getHumanEntityCache().restoreAndForget(humanEntity)
+            ClickRateLimiter.instance?.forget(humanEntity.getUniqueId())
+            dragContexts.remove(humanEntity.getUniqueId())
 
-            if (gui.getViewerCount() == 1) {
-                activeGuiInstances.remove(gui)
+            //these guis create a new inventory every time they are shown
+            if (gui is AnvilGui || gui is GrindstoneGui || gui is MerchantGui || gui is SmithingTableGui) {
+                Gui.OPEN_GUIS.unregisterInventory(event.getInventory())
             }
 
             if (gui is AnvilGui) {
@@ -354,18 +429,19 @@ class GuiListener
             }
 
             //Bukkit doesn't like it if you open an inventory while the previous one is being closed
-            Bukkit.getScheduler()
-                .runTask(this.plugin, Runnable { gui.navigateToParent(humanEntity) })
+            SchedulerUtil.instance
+                .runTask(this.plugin, humanEntity, Runnable { gui.navigateToParent(humanEntity) }, null)
         }
     }
 
     /**
-     * Registers newly opened inventories
+     * Registers newly opened inventories. This runs at the monitor priority, so inventories whose opening is cancelled
+     * by another plugin are never registered.
      *
      * @param event the event fired
      * @since 0.5.19
      */
-    @EventHandler(ignoreCancelled = true)
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
     fun onInventoryOpen(event: InventoryOpenEvent) {
         val gui: Gui? = getGui(event.getInventory())
 
@@ -373,11 +449,12 @@ class GuiListener
             return
         }
 
-        activeGuiInstances.add(gui)
+        Gui.OPEN_GUIS.register(event.getPlayer().getUniqueId(), gui)
     }
 
     /**
-     * Handles the disabling of the plugin
+     * Handles the disabling of the plugin. This closes all open guis and shuts down the threads running the handlers of
+     * [AsyncClickAction]s.
      *
      * @param event the event fired
      * @since 0.5.19
@@ -390,8 +467,8 @@ class GuiListener
 
         var counter: Int = 0 //callbacks might open GUIs, eg. in nested menus
         val maxCount: Int = 10
-        while (!activeGuiInstances.isEmpty() && counter++ < maxCount) {
-            for (gui: Gui in ArrayList(activeGuiInstances)) {
+        while (Gui.OPEN_GUIS.getOpenGuiCount() > 0 && counter++ < maxCount) {
+            for (gui: Gui in Gui.OPEN_GUIS.getOpenGuis()) {
                 for (viewer: HumanEntity in gui.getViewers()) {
                     viewer.closeInventory()
                 }
@@ -406,6 +483,26 @@ class GuiListener
                         + " times)")
             )
         }
+
+        AsyncClickAction.shutdown()
+    }
+
+    /**
+     * Gets the gui from the inventory the specified human entity interacted with, or null if the inventory isn't a gui.
+     * If the human entity does not have any gui open, this returns null without inspecting the inventory.
+     *
+     * @param humanEntity the human entity interacting with the inventory
+     * @param inventory the inventory to get the gui from
+     * @return the gui or null if the inventory doesn't have a gui
+     * @since 0.11.0
+     */
+    @Contract(pure = true)
+    private fun getGui(humanEntity: HumanEntity, inventory: Inventory): Gui? {
+        if (!Gui.OPEN_GUIS.isViewing(humanEntity.getUniqueId())) {
+            return null
+        }
+
+        return getGui(inventory)
     }
 
     /**
@@ -3,6 +3,7 @@ package com.github.stefvanschie.inventoryframework.gui
 import com.github.stefvanschie.inventoryframework.gui.type.util.Gui
 import com.github.stefvanschie.inventoryframework.gui.type.util.InventoryBased
 import com.github.stefvanschie.inventoryframework.pane.Pane
+import com.github.stefvanschie.inventoryframework.pane.util.Slot
 import org.bukkit.event.inventory.InventoryClickEvent
 import org.bukkit.inventory.Inventory
 import org.bukkit.inventory.ItemStack
@@ -14,6 +15,9 @@ import org.w3c.dom.Element
 import org.w3c.dom.Node
 import org.w3c.dom.NodeList
 import java.util.*
+import java.util.concurrent.CopyOnWriteArrayList
+import kotlin.math.max
+import kotlin.math.min
 
 /**
  * Represents a component within an inventory that can hold items. This is always in the shape of a
@@ -25,7 +29,8 @@ class InventoryComponent(length: Int, height: Int) {
     /**
      * Gets a list of panes this inventory component contains. The returned list is modifiable. If
      * this inventory component currently does not have any panes, an empty list is returned. This
-     * list is guaranteed to be sorted according to the panes' priorities.
+     * list is guaranteed to be sorted according to the panes' priorities. The list is copy-on-write,
+     * so iterating it is always safe, even while panes are added or removed during a click.
      *
      * @return the panes this component has
      * @since 0.8.0
@@ -37,13 +42,43 @@ class InventoryComponent(length: Int, height: Int) {
      */
     @JvmField
     @get:Contract(pure = true)
-    val panes: MutableList<Pane> = ArrayList()
+    val panes: MutableList<Pane> = CopyOnWriteArrayList()
 
     /**
-     * The items this inventory component has, stored in row-major order. Slots that are empty are
-     * represented as null.
+     * The items this inventory component has, stored in row-major order: the item at (x, y) is at
+     * index y * length + x. Slots that are empty are represented as null.
      */
-    private val items: Array<Array<ItemStack?>>
+    private val items: Array<ItemStack?>
+
+    /**
+     * The player inventory slots, without offset, of each index in [items]. The last row of this
+     * component maps to the hotbar and the other rows map to the main inventory, in order. Computed
+     * once, when this component is first placed in a player inventory.
+     */
+    private val playerInventorySlots: IntArray by lazy { createPlayerInventorySlots(length, height) }
+
+    /**
+     * The amount of items in each row of this component. Kept up to date whenever an item is set, so
+     * checking whether a range of rows contains an item does not require scanning the items.
+     */
+    private val rowItemCounts: IntArray
+
+    /**
+     * The row views handed out by [rows], keyed by their range, so repeatedly requesting the same
+     * range does not create new views.
+     */
+    private val rowViews: MutableMap<Int, RowView> = HashMap()
+
+    /**
+     * The gui item that produced the item at each index of [items], or null if the item was not set
+     * from a gui item
+     */
+    private val itemSources: Array<GuiItem?>
+
+    /**
+     * The pane that displayed the gui item at each index of [items], or null if unknown
+     */
+    private val itemOwners: Array<Pane?>
 
     /**
      * Gets the length of this inventory component.
@@ -68,6 +103,50 @@ class InventoryComponent(length: Int, height: Int) {
     @get:Contract(pure = true)
     val height: Int
 
+    /**
+     * Gets whether this inventory component only re-renders the regions of its panes that changed.
+     *
+     * @return true if partial rendering is enabled, false otherwise
+     * @since 0.11.0
+     */
+    /**
+     * Sets whether this inventory component should only re-render the regions of its panes that changed. When enabled,
+     * [display] only repaints the regions marked via [Pane.markDirty], respecting the priorities of the panes. Moving,
+     * resizing and changing the priority of panes, as well as removing panes from [panes], is detected automatically.
+     * Changes that panes cannot detect themselves, such as modifying an item's meta, require a call to
+     * [Pane.markDirty] or [invalidate] to become visible. This is disabled by default.
+     *
+     * @param partialRendering whether partial rendering should be enabled
+     * @since 0.11.0
+     */
+    @get:Contract(pure = true)
+    var isPartialRendering: Boolean = false
+
+    /**
+     * Whether everything in this inventory component has to be rendered again, regardless of the changed region
+     */
+    private var invalidated: Boolean = true
+
+    /**
+     * The region of this inventory component that changed since it was last rendered. If nothing changed, the length
+     * and height are zero.
+     */
+    private var dirtyX: Int = 0
+    private var dirtyY: Int = 0
+    private var dirtyLength: Int = 0
+    private var dirtyHeight: Int = 0
+
+    /**
+     * The panes of this inventory component when it was last rendered. Used to detect panes that were removed by
+     * modifying [panes] directly.
+     */
+    private var renderedPanes: Array<Pane> = emptyArray()
+
+    /**
+     * Whether items set in this inventory component are currently being restricted to the changed region
+     */
+    private var clipping: Boolean = false
+
     /**
      * Creates a new inventory component with the specified length and width. If either the length or
      * the width is less than zero, an [IllegalArgumentException] will be thrown.
@@ -82,7 +161,10 @@ class InventoryComponent(length: Int, height: Int) {
         this.length = length
         this.height = height
 
-        this.items = Array(length) { arrayOfNulls(height) }
+        this.items = arrayOfNulls(length * height)
+        this.itemSources = arrayOfNulls(length * height)
+        this.itemOwners = arrayOfNulls(length * height)
+        this.rowItemCounts = IntArray(height)
     }
 
     /**
@@ -92,6 +174,8 @@ class InventoryComponent(length: Int, height: Int) {
      * @since 0.8.0
      */
     fun addPane(pane: Pane) {
+        pane.attach(this)
+
         val size: Int = panes.size
 
         if (size == 0) {
@@ -172,7 +256,8 @@ class InventoryComponent(length: Int, height: Int) {
      * left-to-right, top-to-bottom plus the specified offset. This ordering is different from the
      * normal ordering of the indices of a [PlayerInventory]. See for the normal ordering of a
      * [PlayerInventory]'s slots its documentation. In contrast to
-     * [.display] this does not render the panes of this component.
+     * [.display] this does not render the panes of this component. Only slots whose item differs from the item
+     * that was last placed there by an inventory component are written; see [invalidateFrame].
      *
      * @param inventory the inventory to place the items in
      * @param offset    the offset from which to start counting the slots
@@ -180,18 +265,11 @@ class InventoryComponent(length: Int, height: Int) {
      * @since 0.8.0
      */
     fun placeItems(inventory: PlayerInventory, offset: Int) {
-        for (x in 0 until length) {
-            for (y in 0 until height) {
-                var slot: Int
-
-                if (y == height - 1) {
-                    slot = x + offset
-                } else {
-                    slot = (y + 1) * length + x + offset
-                }
+        val frame: RenderedFrame = getRenderedFrame(inventory)
+        val slots: IntArray = playerInventorySlots
 
-                inventory.setItem(slot, getItem(x, y))
-            }
+        for (index in items.indices) {
+            placeItem(inventory, frame, slots[index] + offset, items[index])
         }
     }
 
@@ -199,7 +277,8 @@ class InventoryComponent(length: Int, height: Int) {
      * This places the items currently existing in this inventory component into the specified
      * inventory. The slots will start at the given offset up to this component's size + the offset
      * specified. In contrast to [.display] this does not render the panes of
-     * this component.
+     * this component. Only slots whose item differs from the item that was last placed there by an inventory
+     * component are written; see [invalidateFrame].
      *
      * @param inventory the inventory to place the items in
      * @param offset    the offset from which to start counting the slots
@@ -207,10 +286,33 @@ class InventoryComponent(length: Int, height: Int) {
      * @since 0.8.0
      */
     fun placeItems(inventory: Inventory, offset: Int) {
-        for (x in 0 until length) {
-            for (y in 0 until height) {
-                inventory.setItem(y * length + x + offset, getItem(x, y))
+        val frame: RenderedFrame = getRenderedFrame(inventory)
+
+        //the indices of the items are laid out exactly like the slots of the inventory
+        for (index in items.indices) {
+            placeItem(inventory, frame, index + offset, items[index])
+        }
+    }
+
+    /**
+     * Places the specified item in the specified slot of the inventory, unless the provided frame shows that this
+     * exact item was already placed in that slot the last time. The frame is updated to reflect the new item.
+     *
+     * @param inventory the inventory to place the item in
+     * @param frame     the items that were last placed in the inventory
+     * @param slot      the slot to place the item in
+     * @param item      the item to place, or null to empty the slot
+     * @since 0.11.0
+     */
+    private fun placeItem(inventory: Inventory, frame: RenderedFrame, slot: Int, item: ItemStack?) {
+        //the same inventory may be rendered for several viewers on different threads
+        synchronized(frame) {
+            if (frame.isRendered(slot, item)) {
+                return
             }
+
+            inventory.setItem(slot, item)
+            frame.setRendered(slot, item)
         }
     }
 
@@ -225,11 +327,16 @@ class InventoryComponent(length: Int, height: Int) {
      * @since 0.8.0
      */
     fun click(gui: Gui, event: InventoryClickEvent, slot: Int) {
-        val panes: List<Pane> = ArrayList(panes)
+        if (!tryClickItem(event, slot)) {
+            return
+        }
+
+        //the iterator works on a snapshot, so panes added or removed by click handlers don't affect this loop
+        val iterator: ListIterator<Pane> = panes.listIterator(panes.size)
 
         //loop panes in reverse, because the highest priority pane (last in list) is most likely to have the right item
-        for (i in panes.indices.reversed()) {
-            if (panes.get(i).click(
+        while (iterator.hasPrevious()) {
+            if (iterator.previous().dispatchClick(
                     gui, this, event, slot, 0, 0, length, height
                 )
             ) {
@@ -238,6 +345,59 @@ class InventoryComponent(length: Int, height: Int) {
         }
     }
 
+    /**
+     * Checks whether the human entity that clicked may click the gui item displayed in the specified slot, see
+     * [ClickRateLimiter]. This is checked before the click is delegated to the panes, so components such as
+     * [com.github.stefvanschie.inventoryframework.pane.component.PagingButtons] don't change their state for clicks
+     * that are dropped. Slots whose gui item is not known, because the item was placed without one, are not limited.
+     * If the click is dropped, the event is cancelled.
+     *
+     * @param event the event of the click
+     * @param slot  the slot that was clicked
+     * @return true if the click may be handled, false if it was dropped
+     * @since 0.11.0
+     */
+    private fun tryClickItem(event: InventoryClickEvent, slot: Int): Boolean {
+        val clickRateLimiter: ClickRateLimiter = ClickRateLimiter.instance ?: return true
+
+        if (slot < 0 || slot >= itemSources.size) {
+            return true
+        }
+
+        val guiItem: GuiItem = itemSources[slot] ?: return true
+
+        if (clickRateLimiter.tryClick(event.getWhoClicked().getUniqueId(), guiItem)) {
+            return true
+        }
+
+        event.setCancelled(true)
+
+        return false
+    }
+
+    /**
+     * Delegates the handling of the raw slot currently being dispatched in the specified drag context to the panes of
+     * this component. This will call [Pane.drag] on each pane until the pane owning the slot has been found.
+     *
+     * @param gui     the gui this inventory component belongs to
+     * @param context the context of the drag
+     * @param slot    the slot that was dragged over, as an index in this component
+     * @since 0.11.0
+     */
+    fun drag(gui: Gui, context: DragContext, slot: Int) {
+        val iterator: ListIterator<Pane> = panes.listIterator(panes.size)
+
+        //loop panes in reverse, so the highest priority pane gets the slot, like with clicks
+        while (iterator.hasPrevious()) {
+            if (iterator.previous().dispatchDrag(
+                    gui, this, context, slot, 0, 0, length, height
+                )
+            ) {
+                break
+            }
+        }
+    }
+
     /**
      * Creates a deep copy of this inventory component. This means that all internal items will be
      * cloned and all panes will be copied as per their own [ItemStack.clone] and
@@ -251,22 +411,18 @@ class InventoryComponent(length: Int, height: Int) {
     fun copy(): InventoryComponent {
         val inventoryComponent: InventoryComponent = InventoryComponent(length, height)
 
-        for (x in 0 until length) {
-            for (y in 0 until height) {
-                val item: ItemStack? = getItem(x, y)
-
-                if (item == null) {
-                    continue
-                }
-
-                inventoryComponent.setItem(item.clone(), x, y)
-            }
+        for (index in items.indices) {
+            inventoryComponent.items[index] = items[index]?.clone()
         }
 
+        System.arraycopy(rowItemCounts, 0, inventoryComponent.rowItemCounts, 0, height)
+
         for (pane: Pane in panes) {
             inventoryComponent.addPane(pane.copy())
         }
 
+        inventoryComponent.isPartialRendering = isPartialRendering
+
         return inventoryComponent
     }
 
@@ -288,6 +444,7 @@ class InventoryComponent(length: Int, height: Int) {
      * @since 0.8.0
      */
     @Contract(pure = true)
+    @Deprecated("creates a new component on every call; {@link #rows(int, int)} should be used instead")
     fun excludeRows(from: Int, end: Int): InventoryComponent {
         require(!(from < 0 || end >= height)) { "Specified range includes non-existent rows" }
 
@@ -295,27 +452,15 @@ class InventoryComponent(length: Int, height: Int) {
 
         val newInventoryComponent: InventoryComponent = InventoryComponent(length, newHeight)
 
-        for (pane: Pane in panes) {
-            newInventoryComponent.addPane(pane)
-        }
-
-        for (x in 0 until length) {
-            var newY: Int = 0
-
-            for (y in 0 until height) {
-                val item: ItemStack? = getItem(x, y)
-
-                if (y >= from && y <= end) {
-                    continue
-                }
-
-                if (item != null) {
-                    newInventoryComponent.setItem(item, x, newY)
-                }
+        //the panes are already sorted and should keep propagating their changes to this component
+        newInventoryComponent.panes.addAll(panes)
 
-                newY++
-            }
-        }
+        System.arraycopy(items, 0, newInventoryComponent.items, 0, from * length)
+        System.arraycopy(
+            items, (end + 1) * length, newInventoryComponent.items, from * length, (height - end - 1) * length
+        )
+        System.arraycopy(rowItemCounts, 0, newInventoryComponent.rowItemCounts, 0, from)
+        System.arraycopy(rowItemCounts, end + 1, newInventoryComponent.rowItemCounts, from, height - end - 1)
 
         return newInventoryComponent
     }
@@ -369,27 +514,57 @@ class InventoryComponent(length: Int, height: Int) {
      */
     @Contract(pure = true)
     fun hasItem(): Boolean {
-        for (x in 0 until length) {
-            for (y in 0 until height) {
-                if (getItem(x, y) != null) {
-                    return true
-                }
+        for (count: Int in rowItemCounts) {
+            if (count > 0) {
+                return true
             }
         }
 
         return false
     }
 
+    /**
+     * Gets a read-only view of the specified range of rows of this inventory component. The view
+     * reflects the current items of this component and does not copy them. The specified range is
+     * 0-indexed and inclusive on both ends. When the range contains rows that are not included in
+     * this inventory component, an [IllegalArgumentException] will be thrown.
+     *
+     * @param from the first row of the view
+     * @param end  the last row of the view
+     * @return a view of the rows
+     * @since 0.11.0
+     */
+    fun rows(from: Int, end: Int): RowView {
+        require(!(from < 0 || end >= height || from > end)) { "Specified range includes non-existent rows" }
+
+        return rowViews.computeIfAbsent(from * height + end) { RowView(from, end) }
+    }
+
     /**
      * This will make each pane in this component render their items in this inventory component. The
      * panes are displayed according to their priority, with the lowest priority rendering first and
      * the highest priority (note: highest priority, not [Pane.Priority.HIGHEST] priority)
-     * rendering last.
+     * rendering last. Panes whose priority changed since they were added are sorted again first. If
+     * partial rendering is enabled, only the regions that changed since the last render are rendered
+     * again.
      *
      * @see .display
+     * @see isPartialRendering
      * @since 0.8.0
      */
     fun display() {
+        sortPanes()
+
+        if (isPartialRendering) {
+            markUntrackedChanges()
+
+            if (!invalidated) {
+                displayDirty()
+
+                return
+            }
+        }
+
         clearItems()
 
         for (pane: Pane in panes) {
@@ -399,6 +574,206 @@ class InventoryComponent(length: Int, height: Int) {
 
             pane.display(this, 0, 0, length, height)
         }
+
+        markClean()
+    }
+
+    /**
+     * Marks the specified region of this inventory component as changed, so it will be rendered again by the next
+     * [display] call when partial rendering is enabled. The region is added to the region that was already marked as
+     * changed.
+     *
+     * @param x      the x coordinate of the changed region
+     * @param y      the y coordinate of the changed region
+     * @param length the length of the changed region
+     * @param height the height of the changed region
+     * @since 0.11.0
+     */
+    fun markDirty(x: Int, y: Int, length: Int, height: Int) {
+        if (length <= 0 || height <= 0) {
+            return
+        }
+
+        if (dirtyLength > 0 && dirtyHeight > 0) {
+            val maxX: Int = max(dirtyX + dirtyLength, x + length)
+            val maxY: Int = max(dirtyY + dirtyHeight, y + height)
+
+            dirtyX = min(dirtyX, x)
+            dirtyY = min(dirtyY, y)
+            dirtyLength = maxX - dirtyX
+            dirtyHeight = maxY - dirtyY
+        } else {
+            dirtyX = x
+            dirtyY = y
+            dirtyLength = length
+            dirtyHeight = height
+        }
+    }
+
+    /**
+     * Marks this entire inventory component as changed, so the next [display] call renders all panes again, even if
+     * partial rendering is enabled.
+     *
+     * @since 0.11.0
+     */
+    fun invalidate() {
+        this.invalidated = true
+    }
+
+    /**
+     * Renders the changed region of this inventory component again. The items in the changed region are cleared, after
+     * which every visible pane overlapping the region is displayed again in order of priority. Only items inside the
+     * changed region are updated.
+     *
+     * @since 0.11.0
+     */
+    private fun displayDirty() {
+        val fromX: Int = max(dirtyX, 0)
+        val fromY: Int = max(dirtyY, 0)
+        val toX: Int = min(dirtyX + dirtyLength, length)
+        val toY: Int = min(dirtyY + dirtyHeight, height)
+
+        if (fromX >= toX || fromY >= toY) {
+            markClean()
+
+            return
+        }
+
+        for (y in fromY until toY) {
+            for (x in fromX until toX) {
+                setSlot(y * length + x, null, null, null)
+            }
+        }
+
+        this.dirtyX = fromX
+        this.dirtyY = fromY
+        this.dirtyLength = toX - fromX
+        this.dirtyHeight = toY - fromY
+        this.clipping = true
+
+        try {
+            for (pane: Pane in panes) {
+                if (!pane.isVisible) {
+                    continue
+                }
+
+                val slot: Slot = pane.getSlot()
+                val paneX: Int = slot.getX(length)
+                val paneY: Int = slot.getY(length)
+
+                if (paneX >= toX || paneY >= toY || paneX + pane.length <= fromX || paneY + pane.height <= fromY) {
+                    continue
+                }
+
+                pane.display(this, 0, 0, length, height)
+            }
+        } finally {
+            this.clipping = false
+        }
+
+        markClean()
+    }
+
+    /**
+     * Sorts the panes of this inventory component by their priority again, if the priority of a pane was changed after
+     * it was added. The order of panes with the same priority is retained.
+     *
+     * @since 0.11.0
+     */
+    private fun sortPanes() {
+        for (index in 1 until panes.size) {
+            if (panes[index - 1].priority.isGreaterThan(panes[index].priority)) {
+                panes.sortWith(Comparator.comparing { pane: Pane -> pane.priority })
+
+                return
+            }
+        }
+    }
+
+    /**
+     * Marks the changes that could not be marked when they were made, see [Pane.markUntrackedChanges]. If a pane was
+     * removed from [panes] since the last render, this entire inventory component is marked as changed, since the
+     * removed pane may have covered any part of it.
+     *
+     * @since 0.11.0
+     */
+    private fun markUntrackedChanges() {
+        if (invalidated) {
+            return
+        }
+
+        for (renderedPane: Pane in renderedPanes) {
+            if (!panes.contains(renderedPane)) {
+                invalidate()
+
+                return
+            }
+        }
+
+        for (pane: Pane in panes) {
+            pane.markUntrackedChanges()
+        }
+    }
+
+    /**
+     * Marks this inventory component and all its panes as unchanged.
+     *
+     * @since 0.11.0
+     */
+    private fun markClean() {
+        this.invalidated = false
+        this.dirtyX = 0
+        this.dirtyY = 0
+        this.dirtyLength = 0
+        this.dirtyHeight = 0
+
+        if (!isRendered(panes)) {
+            this.renderedPanes = panes.toTypedArray()
+        }
+
+        for (pane: Pane in panes) {
+            pane.markClean()
+        }
+    }
+
+    /**
+     * Checks whether the specified panes are the same panes, in the same order, as the panes of the last render.
+     *
+     * @param panes the panes to check
+     * @return true if the panes are the rendered panes, false otherwise
+     * @since 0.11.0
+     */
+    @Contract(pure = true)
+    private fun isRendered(panes: List<Pane>): Boolean {
+        if (panes.size != renderedPanes.size) {
+            return false
+        }
+
+        for (index in renderedPanes.indices) {
+            if (panes[index] !== renderedPanes[index]) {
+                return false
+            }
+        }
+
+        return true
+    }
+
+    /**
+     * Checks whether the specified coordinates may currently be written to. Outside a partial render, every position
+     * may be written to; during a partial render only positions inside the changed region may be written to.
+     *
+     * @param x the x coordinate
+     * @param y the y coordinate
+     * @return true if the position may be written to, false otherwise
+     * @since 0.11.0
+     */
+    @Contract(pure = true)
+    private fun isWritable(x: Int, y: Int): Boolean {
+        if (!clipping) {
+            return true
+        }
+
+        return x >= dirtyX && x < dirtyX + dirtyLength && y >= dirtyY && y < dirtyY + dirtyHeight
     }
 
     /**
@@ -434,29 +809,69 @@ class InventoryComponent(length: Int, height: Int) {
                     "; should be below " + length + " and " + height
         }
 
-        return items.get(x).get(y)
+        return items[y * length + x]
     }
 
     /**
      * Adds the specified item in the slot at the specified positions. This will override an already
      * set item if it resides in the same position as specified. If the position specified is outside
-     * of the boundaries set by this component, an [IllegalArgumentException] will be thrown.
+     * of the boundaries set by this component, an [IllegalArgumentException] will be thrown. When a
+     * pane is specified, this component remembers that the pane displayed this item in this slot, so
+     * clicks on the slot can be resolved without inspecting the clicked item, see [getDisplayedItem].
+     * The placed item stack is the baked item of the gui item, see [GuiItem.getBakedItem], so it is
+     * shared between renders and should not be modified.
      *
      * @param guiItem the item to place in this inventory component
      * @param x       the x coordinate of the item
      * @param y       the y coordinate of the item
+     * @param pane    the pane displaying the item, or null if unknown
      * @since 0.9.3
      */
-    fun setItem(guiItem: GuiItem, x: Int, y: Int) {
+    @JvmOverloads
+    fun setItem(guiItem: GuiItem, x: Int, y: Int, pane: Pane? = null) {
         require(isInBounds(x, y)) {
             "Coordinates must be in-bounds: x = " + x + ", y = " + y +
                     "; should be below " + length + " and " + height
         }
 
-        val copy: GuiItem = guiItem.copy()
-        copy.applyUUID()
+        if (!isWritable(x, y)) {
+            return
+        }
+
+        setSlot(y * length + x, guiItem.getBakedItem(), guiItem, pane)
+    }
+
+    /**
+     * Gets the gui item that the specified pane displayed in the specified slot during the last
+     * render. If another pane displayed the item in this slot, or the slot is empty, null is
+     * returned. Only items displayed via [setItem] with a pane are known; use
+     * [hasDisplayedItemOwner] to check whether the owner of a slot is known.
+     *
+     * @param slot the slot, as an index in this component
+     * @param pane the pane that should have displayed the item
+     * @return the gui item or null
+     * @since 0.11.0
+     */
+    @Contract(pure = true)
+    fun getDisplayedItem(slot: Int, pane: Pane): GuiItem? {
+        if (slot < 0 || slot >= itemOwners.size || itemOwners[slot] !== pane) {
+            return null
+        }
+
+        return itemSources[slot]
+    }
 
-        items.get(x).get(y) = copy.getItem()
+    /**
+     * Checks whether it is known which pane displayed the item in the specified slot during the
+     * last render.
+     *
+     * @param slot the slot, as an index in this component
+     * @return true if the owner is known, false otherwise
+     * @since 0.11.0
+     */
+    @Contract(pure = true)
+    fun hasDisplayedItemOwner(slot: Int): Boolean {
+        return slot >= 0 && slot < itemOwners.size && itemOwners[slot] != null
     }
 
     /**
@@ -479,7 +894,11 @@ class InventoryComponent(length: Int, height: Int) {
                     "; should be below " + length + " and " + height
         }
 
-        items.get(x).get(y) = item
+        if (!isWritable(x, y)) {
+            return
+        }
+
+        setSlot(y * length + x, item, null, null)
     }
 
     @get:Contract(pure = true)
@@ -500,9 +919,34 @@ class InventoryComponent(length: Int, height: Int) {
      * @since 0.9.2
      */
     private fun clearItems() {
-        for (items: Array<ItemStack?> in this.items) {
-            Arrays.fill(items, null)
+        Arrays.fill(items, null)
+        Arrays.fill(itemSources, null)
+        Arrays.fill(itemOwners, null)
+        Arrays.fill(rowItemCounts, 0)
+    }
+
+    /**
+     * Sets the item at the specified index of [items], keeping the item counts of the rows up to
+     * date.
+     *
+     * @param index  the index to set the item at
+     * @param item   the item to set, or null to empty the slot
+     * @param source the gui item the item was created from, or null
+     * @param owner  the pane that displayed the item, or null
+     * @since 0.11.0
+     */
+    private fun setSlot(index: Int, item: ItemStack?, source: GuiItem?, owner: Pane?) {
+        val previous: ItemStack? = items[index]
+
+        if (previous == null && item != null) {
+            rowItemCounts[index / length]++
+        } else if (previous != null && item == null) {
+            rowItemCounts[index / length]--
         }
+
+        items[index] = item
+        itemSources[index] = source
+        itemOwners[index] = owner
     }
 
     /**
@@ -550,4 +994,216 @@ class InventoryComponent(length: Int, height: Int) {
     private fun isInBounds(lowerBound: Int, upperBound: Int, value: Int): Boolean {
         return lowerBound <= value && value <= upperBound
     }
+
+    /**
+     * A read-only view of a range of rows of this inventory component. The view does not copy any
+     * items; it always reflects the current items of the component.
+     *
+     * @param from the first row of the view
+     * @param end  the last row of the view, inclusive
+     * @since 0.11.0
+     */
+    inner class RowView internal constructor(private val from: Int, private val end: Int) {
+
+        /**
+         * The player inventory slots, without offset, of each item in this view
+         */
+        private val playerInventorySlots: IntArray by lazy {
+            createPlayerInventorySlots(length, end - from + 1)
+        }
+
+        /**
+         * Checks whether the rows of this view contain at least one item.
+         *
+         * @return true if an item is present, false otherwise
+         * @since 0.11.0
+         */
+        @Contract(pure = true)
+        fun hasItem(): Boolean {
+            for (row in from..end) {
+                if (rowItemCounts[row] > 0) {
+                    return true
+                }
+            }
+
+            return false
+        }
+
+        /**
+         * Places the items of the rows of this view into the specified player inventory, in the same
+         * way as [InventoryComponent.placeItems] would for a component consisting of only these rows.
+         *
+         * @param inventory the inventory to place the items in
+         * @param offset    the offset from which to start counting the slots
+         * @since 0.11.0
+         */
+        fun placeItems(inventory: PlayerInventory, offset: Int) {
+            val frame: RenderedFrame = getRenderedFrame(inventory)
+            val slots: IntArray = playerInventorySlots
+            val start: Int = from * length
+
+            for (index in slots.indices) {
+                placeItem(inventory, frame, slots[index] + offset, items[start + index])
+            }
+        }
+
+        /**
+         * Places the items of the rows of this view into the specified inventory, in the same way as
+         * [InventoryComponent.placeItems] would for a component consisting of only these rows.
+         *
+         * @param inventory the inventory to place the items in
+         * @param offset    the offset from which to start counting the slots
+         * @since 0.11.0
+         */
+        fun placeItems(inventory: Inventory, offset: Int) {
+            val frame: RenderedFrame = getRenderedFrame(inventory)
+            val start: Int = from * length
+            val size: Int = (end - from + 1) * length
+
+            for (index in 0 until size) {
+                placeItem(inventory, frame, index + offset, items[start + index])
+            }
+        }
+    }
+
+    /**
+     * The items that were last placed into a single inventory, indexed by slot. A slot is only considered rendered
+     * once an item (or the absence of one) has been placed in it. Access to a frame must be synchronized on the frame.
+     *
+     * @param size the size of the inventory this frame belongs to
+     * @since 0.11.0
+     */
+    private class RenderedFrame(size: Int) {
+
+        /**
+         * The items last placed in each slot
+         */
+        private val items: Array<ItemStack?> = arrayOfNulls(size)
+
+        /**
+         * Whether the item in each slot is known
+         */
+        private val rendered: BooleanArray = BooleanArray(size)
+
+        /**
+         * The amount of slots written since this was last reset
+         */
+        var writtenSlots: Int = 0
+
+        /**
+         * Checks whether the specified item is the item that was last placed in the specified slot.
+         *
+         * @param slot the slot to check
+         * @param item the item to check, or null for an empty slot
+         * @return true if the slot already shows this item, false otherwise
+         * @since 0.11.0
+         */
+        @Contract(pure = true)
+        fun isRendered(slot: Int, item: ItemStack?): Boolean {
+            if (slot < 0 || slot >= rendered.size || !rendered[slot]) {
+                return false
+            }
+
+            val renderedItem: ItemStack? = items[slot]
+
+            return renderedItem === item || renderedItem == item
+        }
+
+        /**
+         * Records that the specified item was placed in the specified slot.
+         *
+         * @param slot the slot the item was placed in
+         * @param item the item that was placed, or null if the slot was emptied
+         * @since 0.11.0
+         */
+        fun setRendered(slot: Int, item: ItemStack?) {
+            if (slot < 0 || slot >= rendered.size) {
+                return
+            }
+
+            items[slot] = item
+            rendered[slot] = true
+            writtenSlots++
+        }
+    }
+
+    companion object {
+        /**
+         * The items that were last placed into each inventory by an inventory component. Inventories are weakly
+         * referenced, so frames of inventories that are no longer in use are discarded automatically. Guis may be
+         * rendered on several threads at once on region-threaded servers, so this map is synchronized.
+         */
+        private val RENDERED_FRAMES: MutableMap<Inventory, RenderedFrame> = Collections.synchronizedMap(WeakHashMap())
+
+        /**
+         * Forgets which items were last placed into the specified inventory, so the next time items are placed in it,
+         * every slot will be written again. This should be called whenever the contents of the inventory may have been
+         * changed by anything other than an inventory component.
+         *
+         * IF invalidates the frames itself when a gui is first shown to a human entity, when a click or drag is not
+         * cancelled and when a gui is closed. Slots that are changed by anything else while a gui is being viewed, for
+         * example by another plugin or by a resync from the server, are not repainted until the item rendered in that
+         * slot changes, unless this method is called.
+         *
+         * @param inventory the inventory to forget the placed items of
+         * @since 0.11.0
+         */
+        @JvmStatic
+        fun invalidateFrame(inventory: Inventory) {
+            RENDERED_FRAMES.remove(inventory)
+        }
+
+        /**
+         * Gets the amount of slots of the specified inventory that were written by inventory components since the last
+         * call to this method for this inventory, and resets this amount to zero.
+         *
+         * @param inventory the inventory to get the amount of written slots of
+         * @return the amount of written slots
+         * @since 0.11.0
+         */
+        @JvmStatic
+        fun takeWrittenSlotCount(inventory: Inventory): Int {
+            val frame: RenderedFrame = RENDERED_FRAMES[inventory] ?: return 0
+
+            synchronized(frame) {
+                val writtenSlots: Int = frame.writtenSlots
+
+                frame.writtenSlots = 0
+
+                return writtenSlots
+            }
+        }
+
+        /**
+         * Gets the items that were last placed into the specified inventory, creating an empty frame if no items were
+         * placed yet.
+         *
+         * @param inventory the inventory to get the frame of
+         * @return the frame of the inventory
+         * @since 0.11.0
+         */
+        private fun getRenderedFrame(inventory: Inventory): RenderedFrame {
+            return RENDERED_FRAMES.computeIfAbsent(inventory) { RenderedFrame(it.getSize()) }
+        }
+
+        /**
+         * Creates a table mapping each index of a row-major item buffer with the specified dimensions
+         * to its player inventory slot. The last row maps to the hotbar and the other rows map to the
+         * main inventory, in order.
+         *
+         * @param length the length of the buffer
+         * @param height the height of the buffer
+         * @return the slot of every index
+         * @since 0.11.0
+         */
+        @Contract(pure = true)
+        private fun createPlayerInventorySlots(length: Int, height: Int): IntArray {
+            return IntArray(length * height) { index: Int ->
+                val x: Int = index % length
+                val y: Int = index / length
+
+                if (y == height - 1) x else (y + 1) * length + x
+            }
+        }
+    }
 }
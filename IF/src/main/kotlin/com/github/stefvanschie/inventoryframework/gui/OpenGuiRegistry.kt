@@ -0,0 +1,362 @@
+package com.github.stefvanschie.inventoryframework.gui
+
+import com.github.stefvanschie.inventoryframework.gui.type.util.Gui
+import org.bukkit.inventory.Inventory
+import org.jetbrains.annotations.Contract
+import java.lang.ref.Reference
+import java.lang.ref.ReferenceQueue
+import java.lang.ref.WeakReference
+import java.util.*
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.atomic.AtomicLong
+
+/**
+ * Keeps track of the inventories belonging to [Gui]s and of which human entities currently have a gui open. This
+ * allows events from inventories that do not belong to any gui to be rejected with a single lookup, instead of
+ * inspecting the inventory, which can be expensive for inventories belonging to blocks. The registry used by all guis
+ * can be retrieved via [Gui.getOpenGuiRegistry], for example to monitor the amount of open guis and viewers. Guis
+ * register and unregister themselves, so the registry should not be modified directly.
+ *
+ * All methods of this registry are safe to call from multiple threads concurrently. Inventories are spread over a
+ * fixed amount of shards, each guarded by its own lock. Inventories and their guis are only weakly referenced, so
+ * guis that are no longer used can be garbage collected without being unregistered. Guis that have viewers are
+ * strongly referenced until their viewers are unregistered, which happens when they close the gui.
+ *
+ * @since 0.11.0
+ */
+class OpenGuiRegistry {
+    /**
+     * The gui each human entity has open, by the unique id of the human entity
+     */
+    private val openGuis: MutableMap<UUID, Gui> = ConcurrentHashMap()
+
+    /**
+     * The amount of viewers of each gui that has at least one viewer
+     */
+    private val viewerCounts: MutableMap<Gui, Int> = ConcurrentHashMap()
+
+    /**
+     * The shards containing the inventories of guis
+     */
+    private val shards: Array<Shard> = Array(SHARD_COUNT) { Shard() }
+
+    /**
+     * The amount of inventory entries that were removed because their inventory or gui was garbage collected
+     */
+    private val reclaimedCount: AtomicLong = AtomicLong()
+
+    /**
+     * Registers that the human entity with the specified unique id has the specified gui open. A previously registered
+     * gui for this human entity will be overwritten.
+     *
+     * @param viewer the unique id of the human entity
+     * @param gui the gui the human entity has open
+     * @since 0.11.0
+     */
+    fun register(viewer: UUID, gui: Gui) {
+        val previousGui: Gui? = openGuis.put(viewer, gui)
+
+        if (previousGui === gui) {
+            return
+        }
+
+        if (previousGui != null) {
+            decrementViewerCount(previousGui)
+        }
+
+        viewerCounts.merge(gui, 1, Int::plus)
+    }
+
+    /**
+     * Unregisters the specified gui for the human entity with the specified unique id. If a different gui is registered
+     * for this human entity, this will do nothing.
+     *
+     * @param viewer the unique id of the human entity
+     * @param gui the gui the human entity no longer has open
+     * @since 0.11.0
+     */
+    fun unregister(viewer: UUID, gui: Gui) {
+        if (openGuis.remove(viewer, gui)) {
+            decrementViewerCount(gui)
+        }
+    }
+
+    /**
+     * Registers the specified inventory as belonging to the specified gui. A previously registered gui for this
+     * inventory will be overwritten. Inventories are compared by equality, which for inventories means they have the
+     * same underlying container.
+     *
+     * @param inventory the inventory of the gui
+     * @param gui the gui the inventory belongs to
+     * @since 0.11.0
+     */
+    fun registerInventory(inventory: Inventory, gui: Gui) {
+        getShard(inventory).put(inventory, gui)
+    }
+
+    /**
+     * Unregisters the specified inventory. If this inventory is not registered, this will do nothing.
+     *
+     * @param inventory the inventory to unregister
+     * @since 0.11.0
+     */
+    fun unregisterInventory(inventory: Inventory) {
+        getShard(inventory).remove(inventory)
+    }
+
+    /**
+     * Gets the gui the human entity with the specified unique id has open, or null if this human entity does not have a
+     * gui open.
+     *
+     * @param viewer the unique id of the human entity
+     * @return the open gui or null
+     * @since 0.11.0
+     */
+    @Contract(pure = true)
+    fun getGui(viewer: UUID): Gui? {
+        return openGuis[viewer]
+    }
+
+    /**
+     * Gets the gui the specified inventory belongs to, or null if this inventory is not registered.
+     *
+     * @param inventory the inventory
+     * @return the gui or null
+     * @since 0.11.0
+     */
+    @Contract(pure = true)
+    fun getGui(inventory: Inventory): Gui? {
+        return getShard(inventory).get(inventory)
+    }
+
+    /**
+     * Gets whether the human entity with the specified unique id has any gui open.
+     *
+     * @param viewer the unique id of the human entity
+     * @return true if the human entity has a gui open, false otherwise
+     * @since 0.11.0
+     */
+    @Contract(pure = true)
+    fun isViewing(viewer: UUID): Boolean {
+        return openGuis.containsKey(viewer)
+    }
+
+    /**
+     * Gets a snapshot of all guis that currently have at least one viewer.
+     *
+     * @return the open guis
+     * @since 0.11.0
+     */
+    @Contract(pure = true)
+    fun getOpenGuis(): Collection<Gui> {
+        return ArrayList(viewerCounts.keys)
+    }
+
+    /**
+     * Gets the amount of guis that currently have at least one viewer.
+     *
+     * @return the amount of open guis
+     * @since 0.11.0
+     */
+    @Contract(pure = true)
+    fun getOpenGuiCount(): Int {
+        return viewerCounts.size
+    }
+
+    /**
+     * Gets the amount of human entities that currently have a gui open.
+     *
+     * @return the amount of viewers
+     * @since 0.11.0
+     */
+    @Contract(pure = true)
+    fun getViewerCount(): Int {
+        return openGuis.size
+    }
+
+    /**
+     * Gets the amount of registered inventories. Inventories that have been garbage collected, but whose entries have
+     * not been reclaimed yet, are included in this count.
+     *
+     * @return the amount of inventories
+     * @since 0.11.0
+     */
+    @Contract(pure = true)
+    fun getInventoryCount(): Int {
+        return shards.sumOf { shard: Shard -> shard.size() }
+    }
+
+    /**
+     * Gets the amount of inventory entries that have been removed, because their inventory or gui was garbage
+     * collected, since this registry was created.
+     *
+     * @return the amount of reclaimed entries
+     * @since 0.11.0
+     */
+    @Contract(pure = true)
+    fun getReclaimedCount(): Long {
+        return reclaimedCount.get()
+    }
+
+    /**
+     * Decrements the amount of viewers of the specified gui, removing the gui once it has no viewers left.
+     *
+     * @param gui the gui to decrement the viewer count of
+     * @since 0.11.0
+     */
+    private fun decrementViewerCount(gui: Gui) {
+        viewerCounts.computeIfPresent(gui) { _: Gui, count: Int -> if (count <= 1) null else count - 1 }
+    }
+
+    /**
+     * Gets the shard the specified inventory belongs in.
+     *
+     * @param inventory the inventory
+     * @return the shard
+     * @since 0.11.0
+     */
+    @Contract(pure = true)
+    private fun getShard(inventory: Inventory): Shard {
+        val hash: Int = inventory.hashCode()
+
+        return shards[(hash xor (hash ushr 16)) and (SHARD_COUNT - 1)]
+    }
+
+    /**
+     * A part of the registered inventories, guarded by its own lock.
+     *
+     * @since 0.11.0
+     */
+    private inner class Shard {
+        /**
+         * The guis by their inventory
+         */
+        private val guis: MutableMap<InventoryKey, WeakReference<Gui>> = HashMap()
+
+        /**
+         * The queue in which the keys of garbage collected inventories are placed
+         */
+        private val queue: ReferenceQueue<Inventory> = ReferenceQueue()
+
+        /**
+         * Registers the inventory with the specified gui.
+         *
+         * @param inventory the inventory
+         * @param gui the gui
+         * @since 0.11.0
+         */
+        @Synchronized
+        fun put(inventory: Inventory, gui: Gui) {
+            expungeStaleEntries()
+
+            guis[InventoryKey(inventory, queue)] = WeakReference(gui)
+        }
+
+        /**
+         * Unregisters the inventory.
+         *
+         * @param inventory the inventory
+         * @since 0.11.0
+         */
+        @Synchronized
+        fun remove(inventory: Inventory) {
+            expungeStaleEntries()
+
+            guis.remove(InventoryKey(inventory, null))
+        }
+
+        /**
+         * Gets the gui of the inventory, or null if there is none.
+         *
+         * @param inventory the inventory
+         * @return the gui or null
+         * @since 0.11.0
+         */
+        @Synchronized
+        fun get(inventory: Inventory): Gui? {
+            expungeStaleEntries()
+
+            val key: InventoryKey = InventoryKey(inventory, null)
+            val gui: Gui? = guis[key]?.get()
+
+            if (gui == null && guis.remove(key) != null) {
+                reclaimedCount.incrementAndGet()
+            }
+
+            return gui
+        }
+
+        /**
+         * Gets the amount of entries in this shard.
+         *
+         * @return the amount of entries
+         * @since 0.11.0
+         */
+        @Synchronized
+        fun size(): Int {
+            expungeStaleEntries()
+
+            return guis.size
+        }
+
+        /**
+         * Removes the entries of inventories that have been garbage collected.
+         *
+         * @since 0.11.0
+         */
+        private fun expungeStaleEntries() {
+            var reference: Reference<out Inventory>? = queue.poll()
+
+            while (reference != null) {
+                if (guis.remove(reference as InventoryKey) != null) {
+                    reclaimedCount.incrementAndGet()
+                }
+
+                reference = queue.poll()
+            }
+        }
+    }
+
+    /**
+     * A weak reference to an inventory, which is equal to other keys whose inventory is equal. The hash code is
+     * remembered, so the entry can still be removed after the inventory has been garbage collected.
+     *
+     * @param inventory the inventory
+     * @param queue the queue to register the reference with, or null when only used for lookups
+     * @since 0.11.0
+     */
+    private class InventoryKey(inventory: Inventory, queue: ReferenceQueue<Inventory>?) :
+        WeakReference<Inventory>(inventory, queue) {
+        /**
+         * The hash code of the inventory
+         */
+        private val hash: Int = inventory.hashCode()
+
+        @Contract(pure = true)
+        override fun hashCode(): Int {
+            return hash
+        }
+
+        @Contract(pure = true)
+        override fun equals(other: Any?): Boolean {
+            if (this === other) {
+                return true
+            }
+
+            if (other !is InventoryKey || hash != other.hash) {
+                return false
+            }
+
+            val inventory: Inventory? = get()
+
+            return inventory != null && inventory == other.get()
+        }
+    }
+
+    companion object {
+        /**
+         * The amount of shards inventories are spread over. This must be a power of two.
+         */
+        private const val SHARD_COUNT: Int = 16
+    }
+}
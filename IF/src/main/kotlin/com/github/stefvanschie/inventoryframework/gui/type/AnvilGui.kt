@@ -2,11 +2,14 @@ package com.github.stefvanschie.inventoryframework.gui.type
 
 import com.github.stefvanschie.inventoryframework.adventuresupport.TextHolder
 import com.github.stefvanschie.inventoryframework.exception.XMLLoadException
+import com.github.stefvanschie.inventoryframework.gui.ClientResyncQueue
+import com.github.stefvanschie.inventoryframework.gui.DragContext
 import com.github.stefvanschie.inventoryframework.gui.InventoryComponent
 import com.github.stefvanschie.inventoryframework.gui.type.AnvilGui
 import com.github.stefvanschie.inventoryframework.gui.type.util.InventoryBased
 import com.github.stefvanschie.inventoryframework.gui.type.util.NamedGui
 import com.github.stefvanschie.inventoryframework.util.InventoryViewUtil.instance
+import com.github.stefvanschie.inventoryframework.util.XMLUtil
 import com.github.stefvanschie.inventoryframework.util.version.Version.Companion.version
 import com.github.stefvanschie.inventoryframework.util.version.VersionMatcher.newAnvilInventory
 import org.bukkit.entity.HumanEntity
@@ -25,7 +28,6 @@ import java.io.IOException
 import java.io.InputStream
 import java.util.function.Consumer
 import java.util.logging.Level
-import javax.xml.parsers.DocumentBuilderFactory
 import javax.xml.parsers.ParserConfigurationException
 
 /**
@@ -168,13 +170,13 @@ class AnvilGui : NamedGui, InventoryBased {
     override fun show(humanEntity: HumanEntity) {
         require(humanEntity is Player) { "Anvils can only be opened by players" }
 
+        invalidateFrames(humanEntity)
+
         if (isDirty) {
             this.inventory = createInventory()
             markChanges()
         }
 
-        getInventory().clear()
-
         firstItemComponent.display(getInventory(), 0)
         secondItemComponent.display(getInventory(), 1)
         resultComponent.display(getInventory(), 2)
@@ -198,6 +200,7 @@ class AnvilGui : NamedGui, InventoryBased {
         )
 
         addInventory(inventory, this)
+        addOpenViewer(humanEntity)
 
         viewers.add(humanEntity)
     }
@@ -234,6 +237,20 @@ class AnvilGui : NamedGui, InventoryBased {
         }
     }
 
+    override fun drag(context: DragContext) {
+        val rawSlot = context.rawSlot
+
+        if (rawSlot == 0) {
+            firstItemComponent.drag(this, context, 0)
+        } else if (rawSlot == 1) {
+            secondItemComponent.drag(this, context, 0)
+        } else if (rawSlot == 2) {
+            resultComponent.drag(this, context, 0)
+        } else {
+            playerInventoryComponent.drag(this, context, rawSlot - 3)
+        }
+    }
+
     override fun getInventory(): Inventory {
         if (this.inventory == null) {
             this.inventory = createInventory()
@@ -298,7 +315,7 @@ class AnvilGui : NamedGui, InventoryBased {
         val player = event.whoClicked as Player
 
         if (slot >= 3 && slot <= 38) {
-            anvilInventory.sendItems(player, topItems)
+            ClientResyncQueue.queue(super.plugin, player, this, Runnable { anvilInventory.sendItems(player, topItems) })
         } else if (slot == 0 || slot == 1) {
             if (event.isCancelled) {
                 if (slot == 0) {
@@ -390,7 +407,7 @@ class AnvilGui : NamedGui, InventoryBased {
         fun load(instance: Any, inputStream: InputStream, plugin: Plugin): AnvilGui? {
             try {
                 val document =
-                    DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(inputStream)
+                    XMLUtil.getDocumentBuilder().parse(inputStream)
                 val documentElement = document.documentElement
 
                 documentElement.normalize()
@@ -1,8 +1,8 @@
 package com.github.stefvanschie.inventoryframework.gui.type
 
-import com.github.stefvanschie.inventoryframework.HumanEntityCache
 import com.github.stefvanschie.inventoryframework.adventuresupport.TextHolder
 import com.github.stefvanschie.inventoryframework.exception.XMLLoadException
+import com.github.stefvanschie.inventoryframework.gui.DragContext
 import com.github.stefvanschie.inventoryframework.gui.GuiItem
 import com.github.stefvanschie.inventoryframework.gui.InventoryComponent
 import com.github.stefvanschie.inventoryframework.gui.type.BarrelGui
@@ -11,6 +11,7 @@ import com.github.stefvanschie.inventoryframework.gui.type.util.MergedGui
 import com.github.stefvanschie.inventoryframework.gui.type.util.NamedGui
 import com.github.stefvanschie.inventoryframework.pane.Pane
 import com.github.stefvanschie.inventoryframework.util.InventoryViewUtil.instance
+import com.github.stefvanschie.inventoryframework.util.XMLUtil
 import org.bukkit.entity.HumanEntity
 import org.bukkit.event.inventory.InventoryClickEvent
 import org.bukkit.event.inventory.InventoryType
@@ -26,7 +27,6 @@ import org.xml.sax.SAXException
 import java.io.IOException
 import java.io.InputStream
 import java.util.stream.Collectors
-import javax.xml.parsers.DocumentBuilderFactory
 import javax.xml.parsers.ParserConfigurationException
 
 /**
@@ -79,34 +79,25 @@ class BarrelGui : NamedGui, MergedGui, InventoryBased {
     constructor(title: TextHolder, plugin: Plugin) : super(title, plugin)
 
     override fun show(humanEntity: HumanEntity) {
+        invalidateFrames(humanEntity)
+
         if (isDirty()) {
             this.inventory = createInventory()
             markChanges()
         }
 
-        getInventory().clear()
+        render(humanEntity)
+
+        humanEntity.openInventory(getInventory())
+    }
 
+    override fun displayComponents(): InventoryComponent.RowView {
         val height: Int = inventoryComponent.getHeight()
 
         inventoryComponent.display()
+        inventoryComponent.rows(0, height - 5).placeItems(getInventory(), 0)
 
-        val topComponent: InventoryComponent =
-            inventoryComponent.excludeRows(height - 4, height - 1)
-        val bottomComponent: InventoryComponent = inventoryComponent.excludeRows(0, height - 5)
-
-        topComponent.placeItems(getInventory(), 0)
-
-        if (bottomComponent.hasItem()) {
-            val humanEntityCache: HumanEntityCache = getHumanEntityCache()
-
-            if (!humanEntityCache.contains(humanEntity)) {
-                humanEntityCache.storeAndClear(humanEntity)
-            }
-
-            bottomComponent.placeItems(humanEntity.getInventory(), 0)
-        }
-
-        humanEntity.openInventory(getInventory())
+        return inventoryComponent.rows(height - 4, height - 1)
     }
 
     @Contract(pure = true)
@@ -136,11 +127,16 @@ class BarrelGui : NamedGui, MergedGui, InventoryBased {
         inventoryComponent.click(this, event, event.getRawSlot())
     }
 
+    override fun drag(context: DragContext) {
+        inventoryComponent.drag(this, context, context.rawSlot)
+    }
+
     @get:Contract(pure = true)
     override val isPlayerInventoryUsed: Boolean
         get() {
-            return inventoryComponent.excludeRows(0, inventoryComponent.getHeight() - 5)
-                .hasItem()
+            val height: Int = inventoryComponent.getHeight()
+
+            return inventoryComponent.rows(height - 4, height - 1).hasItem()
         }
 
     override fun addPane(pane: Pane) {
@@ -194,7 +190,7 @@ class BarrelGui : NamedGui, MergedGui, InventoryBased {
             plugin: Plugin
         ): BarrelGui? {
             try {
-                val document: Document = DocumentBuilderFactory.newInstance().newDocumentBuilder()
+                val document: Document = XMLUtil.getDocumentBuilder()
                     .parse(inputStream)
                 val documentElement: Element = document.getDocumentElement()
 
@@ -3,10 +3,12 @@ package com.github.stefvanschie.inventoryframework.gui.type
 import com.github.stefvanschie.inventoryframework.HumanEntityCache
 import com.github.stefvanschie.inventoryframework.abstraction.BeaconInventory
 import com.github.stefvanschie.inventoryframework.exception.XMLLoadException
+import com.github.stefvanschie.inventoryframework.gui.DragContext
 import com.github.stefvanschie.inventoryframework.gui.InventoryComponent
 import com.github.stefvanschie.inventoryframework.gui.type.util.Gui
 import com.github.stefvanschie.inventoryframework.gui.type.util.InventoryBased
 import com.github.stefvanschie.inventoryframework.util.InventoryViewUtil.instance
+import com.github.stefvanschie.inventoryframework.util.XMLUtil
 import com.github.stefvanschie.inventoryframework.util.version.Version.Companion.version
 import com.github.stefvanschie.inventoryframework.util.version.VersionMatcher.newBeaconInventory
 import org.bukkit.Bukkit
@@ -25,7 +27,6 @@ import org.w3c.dom.NodeList
 import org.xml.sax.SAXException
 import java.io.IOException
 import java.io.InputStream
-import javax.xml.parsers.DocumentBuilderFactory
 import javax.xml.parsers.ParserConfigurationException
 
 /**
@@ -88,7 +89,7 @@ class BeaconGui
     override fun show(humanEntity: HumanEntity) {
         require(humanEntity is Player) { "Beacons can only be opened by players" }
 
-        getInventory().clear()
+        invalidateFrames(humanEntity)
 
         paymentItemComponent.display(getInventory(), 0)
         playerInventoryComponent.display()
@@ -135,6 +136,16 @@ class BeaconGui
         }
     }
 
+    override fun drag(context: DragContext) {
+        val rawSlot: Int = context.rawSlot
+
+        if (rawSlot == 0) {
+            paymentItemComponent.drag(this, context, 0)
+        } else {
+            playerInventoryComponent.drag(this, context, rawSlot - 1)
+        }
+    }
+
     override fun getInventory(): Inventory {
         if (this.inventory == null) {
             this.inventory = createInventory()
@@ -200,7 +211,7 @@ class BeaconGui
         fun load(instance: Any, inputStream: InputStream, plugin: Plugin): BeaconGui? {
             try {
                 val document: Document =
-                    DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(inputStream)
+                    XMLUtil.getDocumentBuilder().parse(inputStream)
                 val documentElement: Element = document.getDocumentElement()
 
                 documentElement.normalize()
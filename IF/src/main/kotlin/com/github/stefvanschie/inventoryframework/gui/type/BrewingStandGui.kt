@@ -1,13 +1,14 @@
 package com.github.stefvanschie.inventoryframework.gui.type
 
-import com.github.stefvanschie.inventoryframework.HumanEntityCache
 import com.github.stefvanschie.inventoryframework.adventuresupport.TextHolder
 import com.github.stefvanschie.inventoryframework.exception.XMLLoadException
+import com.github.stefvanschie.inventoryframework.gui.DragContext
 import com.github.stefvanschie.inventoryframework.gui.InventoryComponent
 import com.github.stefvanschie.inventoryframework.gui.type.BrewingStandGui
 import com.github.stefvanschie.inventoryframework.gui.type.util.InventoryBased
 import com.github.stefvanschie.inventoryframework.gui.type.util.NamedGui
 import com.github.stefvanschie.inventoryframework.util.InventoryViewUtil.instance
+import com.github.stefvanschie.inventoryframework.util.XMLUtil
 import org.bukkit.entity.HumanEntity
 import org.bukkit.event.inventory.InventoryClickEvent
 import org.bukkit.event.inventory.InventoryType
@@ -22,7 +23,6 @@ import org.w3c.dom.NodeList
 import org.xml.sax.SAXException
 import java.io.IOException
 import java.io.InputStream
-import javax.xml.parsers.DocumentBuilderFactory
 import javax.xml.parsers.ParserConfigurationException
 
 /**
@@ -146,13 +146,19 @@ class BrewingStandGui : NamedGui, InventoryBased {
     constructor(title: TextHolder, plugin: Plugin) : super(title, plugin)
 
     override fun show(humanEntity: HumanEntity) {
+        invalidateFrames(humanEntity)
+
         if (isDirty()) {
             this.inventory = createInventory()
             markChanges()
         }
 
-        getInventory().clear()
+        render(humanEntity)
 
+        humanEntity.openInventory(getInventory())
+    }
+
+    override fun displayComponents(): InventoryComponent.RowView {
         firstBottleComponent.display(getInventory(), 0)
         secondBottleComponent.display(getInventory(), 1)
         thirdBottleComponent.display(getInventory(), 2)
@@ -160,17 +166,7 @@ class BrewingStandGui : NamedGui, InventoryBased {
         blazePowderComponent.display(getInventory(), 4)
         playerInventoryComponent.display()
 
-        if (playerInventoryComponent.hasItem()) {
-            val humanEntityCache: HumanEntityCache = getHumanEntityCache()
-
-            if (!humanEntityCache.contains(humanEntity)) {
-                humanEntityCache.storeAndClear(humanEntity)
-            }
-
-            playerInventoryComponent.placeItems(humanEntity.getInventory(), 0)
-        }
-
-        humanEntity.openInventory(getInventory())
+        return playerInventoryComponent.rows(0, playerInventoryComponent.height - 1)
     }
 
     @Contract(pure = true)
@@ -211,6 +207,24 @@ class BrewingStandGui : NamedGui, InventoryBased {
         }
     }
 
+    override fun drag(context: DragContext) {
+        val rawSlot: Int = context.rawSlot
+
+        if (rawSlot == 0) {
+            firstBottleComponent.drag(this, context, 0)
+        } else if (rawSlot == 1) {
+            secondBottleComponent.drag(this, context, 0)
+        } else if (rawSlot == 2) {
+            thirdBottleComponent.drag(this, context, 0)
+        } else if (rawSlot == 3) {
+            potionIngredientComponent.drag(this, context, 0)
+        } else if (rawSlot == 4) {
+            blazePowderComponent.drag(this, context, 0)
+        } else {
+            playerInventoryComponent.drag(this, context, rawSlot - 5)
+        }
+    }
+
     @get:Contract(pure = true)
     override val isPlayerInventoryUsed: Boolean
         get() {
@@ -264,7 +278,7 @@ class BrewingStandGui : NamedGui, InventoryBased {
         ): BrewingStandGui? {
             try {
                 val document: Document =
-                    DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(inputStream)
+                    XMLUtil.getDocumentBuilder().parse(inputStream)
                 val documentElement: Element = document.getDocumentElement()
 
                 documentElement.normalize()
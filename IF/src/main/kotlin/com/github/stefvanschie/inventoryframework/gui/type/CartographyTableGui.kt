@@ -4,14 +4,16 @@ import com.github.stefvanschie.inventoryframework.HumanEntityCache
 import com.github.stefvanschie.inventoryframework.abstraction.CartographyTableInventory
 import com.github.stefvanschie.inventoryframework.adventuresupport.TextHolder
 import com.github.stefvanschie.inventoryframework.exception.XMLLoadException
+import com.github.stefvanschie.inventoryframework.gui.ClientResyncQueue
+import com.github.stefvanschie.inventoryframework.gui.DragContext
 import com.github.stefvanschie.inventoryframework.gui.InventoryComponent
 import com.github.stefvanschie.inventoryframework.gui.type.CartographyTableGui
 import com.github.stefvanschie.inventoryframework.gui.type.util.InventoryBased
 import com.github.stefvanschie.inventoryframework.gui.type.util.NamedGui
 import com.github.stefvanschie.inventoryframework.util.InventoryViewUtil.instance
+import com.github.stefvanschie.inventoryframework.util.XMLUtil
 import com.github.stefvanschie.inventoryframework.util.version.Version.Companion.version
 import com.github.stefvanschie.inventoryframework.util.version.VersionMatcher.newCartographyTableInventory
-import org.bukkit.Bukkit
 import org.bukkit.entity.HumanEntity
 import org.bukkit.entity.Player
 import org.bukkit.event.inventory.InventoryClickEvent
@@ -28,7 +30,6 @@ import org.w3c.dom.NodeList
 import org.xml.sax.SAXException
 import java.io.IOException
 import java.io.InputStream
-import javax.xml.parsers.DocumentBuilderFactory
 import javax.xml.parsers.ParserConfigurationException
 
 /**
@@ -135,13 +136,13 @@ class CartographyTableGui : NamedGui, InventoryBased {
     override fun show(humanEntity: HumanEntity) {
         require(humanEntity is Player) { "Cartography tables can only be opened by players" }
 
+        invalidateFrames(humanEntity)
+
         if (isDirty()) {
             this.inventory = createInventory()
             markChanges()
         }
 
-        getInventory().clear()
-
         mapComponent.display(getInventory(), 0)
         paperComponent.display(getInventory(), 1)
         outputComponent.display(getInventory(), 2)
@@ -198,6 +199,20 @@ class CartographyTableGui : NamedGui, InventoryBased {
         }
     }
 
+    override fun drag(context: DragContext) {
+        val rawSlot: Int = context.rawSlot
+
+        if (rawSlot == 0) {
+            mapComponent.drag(this, context, 0)
+        } else if (rawSlot == 1) {
+            paperComponent.drag(this, context, 0)
+        } else if (rawSlot == 2) {
+            outputComponent.drag(this, context, 0)
+        } else {
+            playerInventoryComponent.drag(this, context, rawSlot - 3)
+        }
+    }
+
     override fun getInventory(): Inventory {
         if (this.inventory == null) {
             this.inventory = createInventory()
@@ -240,10 +255,11 @@ class CartographyTableGui : NamedGui, InventoryBased {
         val player: Player = event.getWhoClicked() as Player
 
         if (slot >= 3 && slot <= 38) {
-            cartographyTableInventory.sendItems(player, topItems)
+            ClientResyncQueue.queue(super.plugin, player, this,
+                Runnable { cartographyTableInventory.sendItems(player, topItems) })
         } else if (slot >= 0 && slot <= 2) {
             //the client rejects the output item if send immediately
-            Bukkit.getScheduler().runTask(super.plugin,
+            ClientResyncQueue.queue(super.plugin, player, this,
                 Runnable { cartographyTableInventory.sendItems(player, topItems) })
 
             if (event.isCancelled()) {
@@ -286,7 +302,7 @@ class CartographyTableGui : NamedGui, InventoryBased {
         ): CartographyTableGui? {
             try {
                 val document: Document =
-                    DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(inputStream)
+                    XMLUtil.getDocumentBuilder().parse(inputStream)
                 val documentElement: Element = document.getDocumentElement()
 
                 documentElement.normalize()
@@ -1,9 +1,9 @@
 package com.github.stefvanschie.inventoryframework.gui.type
 
-import com.github.stefvanschie.inventoryframework.HumanEntityCache
 import com.github.stefvanschie.inventoryframework.adventuresupport.StringHolder.Companion.of
 import com.github.stefvanschie.inventoryframework.adventuresupport.TextHolder
 import com.github.stefvanschie.inventoryframework.exception.XMLLoadException
+import com.github.stefvanschie.inventoryframework.gui.DragContext
 import com.github.stefvanschie.inventoryframework.gui.GuiItem
 import com.github.stefvanschie.inventoryframework.gui.InventoryComponent
 import com.github.stefvanschie.inventoryframework.gui.type.ChestGui
@@ -12,6 +12,7 @@ import com.github.stefvanschie.inventoryframework.gui.type.util.MergedGui
 import com.github.stefvanschie.inventoryframework.gui.type.util.NamedGui
 import com.github.stefvanschie.inventoryframework.pane.Pane
 import com.github.stefvanschie.inventoryframework.util.InventoryViewUtil.instance
+import com.github.stefvanschie.inventoryframework.util.XMLUtil
 import org.bukkit.entity.HumanEntity
 import org.bukkit.event.inventory.InventoryClickEvent
 import org.bukkit.inventory.Inventory
@@ -26,7 +27,6 @@ import org.xml.sax.SAXException
 import java.io.IOException
 import java.io.InputStream
 import java.util.stream.Collectors
-import javax.xml.parsers.DocumentBuilderFactory
 import javax.xml.parsers.ParserConfigurationException
 
 /**
@@ -99,6 +99,8 @@ class ChestGui @JvmOverloads constructor(
     }
 
     override fun show(humanEntity: HumanEntity) {
+        invalidateFrames(humanEntity)
+
         if (isDirty || dirtyRows) {
             this.inventory = createInventory()
             this.dirtyRows = false
@@ -106,29 +108,26 @@ class ChestGui @JvmOverloads constructor(
             markChanges()
         }
 
-        getInventory().clear()
-
-        val height: Int = inventoryComponent.height
-
-        inventoryComponent.display()
+        render(humanEntity)
 
-        val topComponent: InventoryComponent =
-            inventoryComponent.excludeRows(height - 4, height - 1)
-        val bottomComponent: InventoryComponent = inventoryComponent.excludeRows(0, height - 5)
+        humanEntity.openInventory(getInventory())
+    }
 
-        topComponent.placeItems(getInventory(), 0)
+    override fun updateInPlace(humanEntity: HumanEntity): Boolean {
+        if (dirtyRows) {
+            return false
+        }
 
-        if (bottomComponent.hasItem()) {
-            val humanEntityCache: HumanEntityCache = getHumanEntityCache()
+        return super.updateInPlace(humanEntity)
+    }
 
-            if (!humanEntityCache.contains(humanEntity)) {
-                humanEntityCache.storeAndClear(humanEntity)
-            }
+    override fun displayComponents(): InventoryComponent.RowView {
+        val height: Int = inventoryComponent.height
 
-            bottomComponent.placeItems(humanEntity.inventory, 0)
-        }
+        inventoryComponent.display()
+        inventoryComponent.rows(0, height - 5).placeItems(getInventory(), 0)
 
-        humanEntity.openInventory(getInventory())
+        return inventoryComponent.rows(height - 4, height - 1)
     }
 
     @Contract(pure = true)
@@ -150,10 +149,13 @@ class ChestGui @JvmOverloads constructor(
         inventoryComponent.click(this, event, event.rawSlot)
     }
 
+    override fun drag(context: DragContext) {
+        inventoryComponent.drag(this, context, context.rawSlot)
+    }
+
     @get:Contract(pure = true)
     override val isPlayerInventoryUsed: Boolean
-        get() = inventoryComponent.excludeRows(0, inventoryComponent.height - 5)
-            .hasItem()
+        get() = inventoryComponent.rows(inventoryComponent.height - 4, inventoryComponent.height - 1).hasItem()
 
     override fun getInventory(): Inventory {
         if (this.inventory == null) {
@@ -245,7 +247,7 @@ class ChestGui @JvmOverloads constructor(
             plugin: Plugin
         ): ChestGui? {
             try {
-                val document: Document = DocumentBuilderFactory.newInstance().newDocumentBuilder()
+                val document: Document = XMLUtil.getDocumentBuilder()
                     .parse(inputStream)
                 val documentElement: Element = document.documentElement
 
@@ -1,13 +1,14 @@
 package com.github.stefvanschie.inventoryframework.gui.type
 
-import com.github.stefvanschie.inventoryframework.HumanEntityCache
 import com.github.stefvanschie.inventoryframework.adventuresupport.TextHolder
 import com.github.stefvanschie.inventoryframework.exception.XMLLoadException
+import com.github.stefvanschie.inventoryframework.gui.DragContext
 import com.github.stefvanschie.inventoryframework.gui.InventoryComponent
 import com.github.stefvanschie.inventoryframework.gui.type.CrafterGui
 import com.github.stefvanschie.inventoryframework.gui.type.util.InventoryBased
 import com.github.stefvanschie.inventoryframework.gui.type.util.NamedGui
 import com.github.stefvanschie.inventoryframework.util.InventoryViewUtil.instance
+import com.github.stefvanschie.inventoryframework.util.XMLUtil
 import org.bukkit.entity.HumanEntity
 import org.bukkit.event.inventory.InventoryClickEvent
 import org.bukkit.event.inventory.InventoryType
@@ -22,7 +23,6 @@ import org.w3c.dom.NodeList
 import org.xml.sax.SAXException
 import java.io.IOException
 import java.io.InputStream
-import javax.xml.parsers.DocumentBuilderFactory
 import javax.xml.parsers.ParserConfigurationException
 
 /**
@@ -94,27 +94,23 @@ class CrafterGui : NamedGui, InventoryBased {
     constructor(title: TextHolder, plugin: Plugin) : super(title, plugin)
 
     override fun show(humanEntity: HumanEntity) {
+        invalidateFrames(humanEntity)
+
         if (isDirty()) {
             this.inventory = createInventory()
             markChanges()
         }
 
-        getInventory().clear()
+        render(humanEntity)
+
+        humanEntity.openInventory(getInventory())
+    }
 
+    override fun displayComponents(): InventoryComponent.RowView {
         inputComponent.display(getInventory(), 0)
         playerInventoryComponent.display()
 
-        if (playerInventoryComponent.hasItem()) {
-            val humanEntityCache: HumanEntityCache = getHumanEntityCache()
-
-            if (!humanEntityCache.contains(humanEntity)) {
-                humanEntityCache.storeAndClear(humanEntity)
-            }
-
-            playerInventoryComponent.placeItems(humanEntity.getInventory(), 0)
-        }
-
-        humanEntity.openInventory(getInventory())
+        return playerInventoryComponent.rows(0, playerInventoryComponent.height - 1)
     }
 
     @Contract(pure = true)
@@ -143,6 +139,16 @@ class CrafterGui : NamedGui, InventoryBased {
         }
     }
 
+    override fun drag(context: DragContext) {
+        val rawSlot: Int = context.rawSlot
+
+        if (rawSlot >= 0 && rawSlot <= 8) {
+            inputComponent.drag(this, context, rawSlot)
+        } else {
+            playerInventoryComponent.drag(this, context, rawSlot - 9)
+        }
+    }
+
     override fun getInventory(): Inventory {
         if (this.inventory == null) {
             this.inventory = createInventory()
@@ -196,7 +202,7 @@ class CrafterGui : NamedGui, InventoryBased {
         ): CrafterGui? {
             try {
                 val document: Document =
-                    DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(inputStream)
+                    XMLUtil.getDocumentBuilder().parse(inputStream)
                 val documentElement: Element = document.getDocumentElement()
 
                 documentElement.normalize()
@@ -4,11 +4,13 @@ import com.github.stefvanschie.inventoryframework.HumanEntityCache
 import com.github.stefvanschie.inventoryframework.abstraction.EnchantingTableInventory
 import com.github.stefvanschie.inventoryframework.adventuresupport.TextHolder
 import com.github.stefvanschie.inventoryframework.exception.XMLLoadException
+import com.github.stefvanschie.inventoryframework.gui.DragContext
 import com.github.stefvanschie.inventoryframework.gui.InventoryComponent
 import com.github.stefvanschie.inventoryframework.gui.type.EnchantingTableGui
 import com.github.stefvanschie.inventoryframework.gui.type.util.InventoryBased
 import com.github.stefvanschie.inventoryframework.gui.type.util.NamedGui
 import com.github.stefvanschie.inventoryframework.util.InventoryViewUtil.instance
+import com.github.stefvanschie.inventoryframework.util.XMLUtil
 import com.github.stefvanschie.inventoryframework.util.version.Version.Companion.version
 import com.github.stefvanschie.inventoryframework.util.version.VersionMatcher.newEnchantingTableInventory
 import org.bukkit.entity.HumanEntity
@@ -27,7 +29,6 @@ import org.w3c.dom.NodeList
 import org.xml.sax.SAXException
 import java.io.IOException
 import java.io.InputStream
-import javax.xml.parsers.DocumentBuilderFactory
 import javax.xml.parsers.ParserConfigurationException
 
 /**
@@ -108,13 +109,13 @@ class EnchantingTableGui : NamedGui, InventoryBased {
     override fun show(humanEntity: HumanEntity) {
         require(humanEntity is Player) { "Enchanting tables can only be opened by players" }
 
+        invalidateFrames(humanEntity)
+
         if (isDirty()) {
             this.inventory = createInventory()
             markChanges()
         }
 
-        getInventory().clear()
-
         inputComponent.display(getInventory(), 0)
         playerInventoryComponent.display()
 
@@ -163,6 +164,16 @@ class EnchantingTableGui : NamedGui, InventoryBased {
         }
     }
 
+    override fun drag(context: DragContext) {
+        val rawSlot: Int = context.rawSlot
+
+        if (rawSlot >= 0 && rawSlot <= 1) {
+            inputComponent.drag(this, context, rawSlot)
+        } else {
+            playerInventoryComponent.drag(this, context, rawSlot - 2)
+        }
+    }
+
     override fun getInventory(): Inventory {
         if (this.inventory == null) {
             this.inventory = createInventory()
@@ -246,7 +257,7 @@ class EnchantingTableGui : NamedGui, InventoryBased {
         ): EnchantingTableGui? {
             try {
                 val document: Document =
-                    DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(inputStream)
+                    XMLUtil.getDocumentBuilder().parse(inputStream)
                 val documentElement: Element = document.getDocumentElement()
 
                 documentElement.normalize()
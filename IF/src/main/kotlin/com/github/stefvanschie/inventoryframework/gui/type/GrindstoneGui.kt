@@ -4,11 +4,13 @@ import com.github.stefvanschie.inventoryframework.HumanEntityCache
 import com.github.stefvanschie.inventoryframework.abstraction.GrindstoneInventory
 import com.github.stefvanschie.inventoryframework.adventuresupport.TextHolder
 import com.github.stefvanschie.inventoryframework.exception.XMLLoadException
+import com.github.stefvanschie.inventoryframework.gui.DragContext
 import com.github.stefvanschie.inventoryframework.gui.InventoryComponent
 import com.github.stefvanschie.inventoryframework.gui.type.GrindstoneGui
 import com.github.stefvanschie.inventoryframework.gui.type.util.InventoryBased
 import com.github.stefvanschie.inventoryframework.gui.type.util.NamedGui
 import com.github.stefvanschie.inventoryframework.util.InventoryViewUtil.instance
+import com.github.stefvanschie.inventoryframework.util.XMLUtil
 import com.github.stefvanschie.inventoryframework.util.version.Version.Companion.version
 import com.github.stefvanschie.inventoryframework.util.version.VersionMatcher.newGrindstoneInventory
 import org.bukkit.entity.HumanEntity
@@ -27,7 +29,6 @@ import org.w3c.dom.NodeList
 import org.xml.sax.SAXException
 import java.io.IOException
 import java.io.InputStream
-import javax.xml.parsers.DocumentBuilderFactory
 import javax.xml.parsers.ParserConfigurationException
 
 /**
@@ -122,13 +123,13 @@ class GrindstoneGui : NamedGui, InventoryBased {
     override fun show(humanEntity: HumanEntity) {
         require(humanEntity is Player) { "Grindstones can only be opened by players" }
 
+        invalidateFrames(humanEntity)
+
         if (isDirty()) {
             this.inventory = createInventory()
             markChanges()
         }
 
-        getInventory().clear()
-
         itemsComponent.display(getInventory(), 0)
         resultComponent.display(getInventory(), 2)
         playerInventoryComponent.display()
@@ -149,6 +150,7 @@ class GrindstoneGui : NamedGui, InventoryBased {
         )
 
         addInventory(inventory, this)
+        addOpenViewer(humanEntity)
     }
 
     @Contract(pure = true)
@@ -180,6 +182,18 @@ class GrindstoneGui : NamedGui, InventoryBased {
         }
     }
 
+    override fun drag(context: DragContext) {
+        val rawSlot: Int = context.rawSlot
+
+        if (rawSlot >= 0 && rawSlot <= 1) {
+            itemsComponent.drag(this, context, rawSlot)
+        } else if (rawSlot == 2) {
+            resultComponent.drag(this, context, 0)
+        } else {
+            playerInventoryComponent.drag(this, context, rawSlot - 3)
+        }
+    }
+
     override fun getInventory(): Inventory {
         if (this.inventory == null) {
             this.inventory = createInventory()
@@ -267,7 +281,7 @@ class GrindstoneGui : NamedGui, InventoryBased {
         ): GrindstoneGui? {
             try {
                 val document: Document =
-                    DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(inputStream)
+                    XMLUtil.getDocumentBuilder().parse(inputStream)
                 val documentElement: Element = document.getDocumentElement()
 
                 documentElement.normalize()
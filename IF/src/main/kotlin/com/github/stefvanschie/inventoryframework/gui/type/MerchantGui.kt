@@ -5,12 +5,14 @@ import com.github.stefvanschie.inventoryframework.abstraction.MerchantInventory
 import com.github.stefvanschie.inventoryframework.adventuresupport.StringHolder.Companion.of
 import com.github.stefvanschie.inventoryframework.adventuresupport.TextHolder
 import com.github.stefvanschie.inventoryframework.exception.XMLLoadException
+import com.github.stefvanschie.inventoryframework.gui.DragContext
 import com.github.stefvanschie.inventoryframework.gui.InventoryComponent
 import com.github.stefvanschie.inventoryframework.gui.type.MerchantGui
 import com.github.stefvanschie.inventoryframework.gui.type.util.Gui
 import com.github.stefvanschie.inventoryframework.gui.type.util.NamedGui
 import com.github.stefvanschie.inventoryframework.pane.Pane.Companion.loadItem
 import com.github.stefvanschie.inventoryframework.util.InventoryViewUtil.instance
+import com.github.stefvanschie.inventoryframework.util.XMLUtil
 import com.github.stefvanschie.inventoryframework.util.XMLUtil.loadOnEventAttribute
 import com.github.stefvanschie.inventoryframework.util.version.Version.Companion.version
 import com.github.stefvanschie.inventoryframework.util.version.VersionMatcher.newMerchantInventory
@@ -31,7 +33,6 @@ import java.io.IOException
 import java.io.InputStream
 import java.util.AbstractMap.SimpleImmutableEntry
 import java.util.function.Consumer
-import javax.xml.parsers.DocumentBuilderFactory
 import javax.xml.parsers.ParserConfigurationException
 
 /**
@@ -182,6 +183,8 @@ class MerchantGui @JvmOverloads constructor(
     override fun show(humanEntity: HumanEntity) {
         require(humanEntity is Player) { "Merchants can only be opened by players" }
 
+        invalidateFrames(humanEntity)
+
         if (isDirty()) {
             this.merchant = getTitleHolder().asMerchantTitle()
             markChanges()
@@ -194,8 +197,10 @@ class MerchantGui @JvmOverloads constructor(
         val inventory: Inventory = instance.getTopInventory(view)
 
         addInventory(inventory, this)
+        addOpenViewer(humanEntity)
 
         inventory.clear()
+        InventoryComponent.invalidateFrame(inventory)
 
         inputComponent.display(inventory, 0)
         playerInventoryComponent.display()
@@ -286,6 +291,16 @@ class MerchantGui @JvmOverloads constructor(
         }
     }
 
+    override fun drag(context: DragContext) {
+        val rawSlot: Int = context.rawSlot
+
+        if (rawSlot >= 0 && rawSlot <= 1) {
+            inputComponent.drag(this, context, rawSlot)
+        } else if (rawSlot != 2) {
+            playerInventoryComponent.drag(this, context, rawSlot - 3)
+        }
+    }
+
     /**
      * Adds a trade to this gui. The specified discount is the difference between the old price and the new price. For
      * example, if a price was decreased from five to two, the discount would be three.
@@ -388,7 +403,7 @@ class MerchantGui @JvmOverloads constructor(
         fun load(instance: Any, inputStream: InputStream, plugin: Plugin): MerchantGui? {
             try {
                 val document: Document =
-                    DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(inputStream)
+                    XMLUtil.getDocumentBuilder().parse(inputStream)
                 val documentElement: Element = document.getDocumentElement()
 
                 documentElement.normalize()
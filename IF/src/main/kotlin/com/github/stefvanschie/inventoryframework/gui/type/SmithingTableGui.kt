@@ -4,11 +4,13 @@ import com.github.stefvanschie.inventoryframework.HumanEntityCache
 import com.github.stefvanschie.inventoryframework.abstraction.SmithingTableInventory
 import com.github.stefvanschie.inventoryframework.adventuresupport.TextHolder
 import com.github.stefvanschie.inventoryframework.exception.XMLLoadException
+import com.github.stefvanschie.inventoryframework.gui.DragContext
 import com.github.stefvanschie.inventoryframework.gui.InventoryComponent
 import com.github.stefvanschie.inventoryframework.gui.type.SmithingTableGui
 import com.github.stefvanschie.inventoryframework.gui.type.util.InventoryBased
 import com.github.stefvanschie.inventoryframework.gui.type.util.NamedGui
 import com.github.stefvanschie.inventoryframework.util.InventoryViewUtil.instance
+import com.github.stefvanschie.inventoryframework.util.XMLUtil
 import com.github.stefvanschie.inventoryframework.util.version.Version.Companion.version
 import com.github.stefvanschie.inventoryframework.util.version.VersionMatcher.newSmithingTableInventory
 import org.bukkit.entity.HumanEntity
@@ -27,7 +29,6 @@ import org.w3c.dom.NodeList
 import org.xml.sax.SAXException
 import java.io.IOException
 import java.io.InputStream
-import javax.xml.parsers.DocumentBuilderFactory
 import javax.xml.parsers.ParserConfigurationException
 
 /**
@@ -127,13 +128,13 @@ class SmithingTableGui : NamedGui, InventoryBased {
     override fun show(humanEntity: HumanEntity) {
         require(humanEntity is Player) { "Smithing tables can only be opened by players" }
 
+        invalidateFrames(humanEntity)
+
         if (isDirty()) {
             this.inventory = createInventory()
             markChanges()
         }
 
-        getInventory().clear()
-
         inputComponent.display(getInventory(), 0)
         resultComponent.display(getInventory(), 3)
         playerInventoryComponent.display()
@@ -155,6 +156,7 @@ class SmithingTableGui : NamedGui, InventoryBased {
         )
 
         addInventory(inventory!!, this)
+        addOpenViewer(humanEntity)
 
         viewers.add(humanEntity)
     }
@@ -188,6 +190,18 @@ class SmithingTableGui : NamedGui, InventoryBased {
         }
     }
 
+    override fun drag(context: DragContext) {
+        val rawSlot: Int = context.rawSlot
+
+        if (rawSlot >= 0 && rawSlot <= 2) {
+            inputComponent.drag(this, context, rawSlot)
+        } else if (rawSlot == 3) {
+            resultComponent.drag(this, context, 0)
+        } else {
+            playerInventoryComponent.drag(this, context, rawSlot - 4)
+        }
+    }
+
     override fun getInventory(): Inventory {
         if (this.inventory == null) {
             this.inventory = createInventory()
@@ -262,7 +276,7 @@ class SmithingTableGui : NamedGui, InventoryBased {
             plugin: Plugin
         ): SmithingTableGui? {
             try {
-                val document: Document = DocumentBuilderFactory.newInstance().newDocumentBuilder()
+                val document: Document = XMLUtil.getDocumentBuilder()
                     .parse(inputStream)
                 val documentElement: Element = document.getDocumentElement()
 
@@ -4,11 +4,14 @@ import com.github.stefvanschie.inventoryframework.HumanEntityCache
 import com.github.stefvanschie.inventoryframework.abstraction.StonecutterInventory
 import com.github.stefvanschie.inventoryframework.adventuresupport.TextHolder
 import com.github.stefvanschie.inventoryframework.exception.XMLLoadException
+import com.github.stefvanschie.inventoryframework.gui.ClientResyncQueue
+import com.github.stefvanschie.inventoryframework.gui.DragContext
 import com.github.stefvanschie.inventoryframework.gui.InventoryComponent
 import com.github.stefvanschie.inventoryframework.gui.type.StonecutterGui
 import com.github.stefvanschie.inventoryframework.gui.type.util.InventoryBased
 import com.github.stefvanschie.inventoryframework.gui.type.util.NamedGui
 import com.github.stefvanschie.inventoryframework.util.InventoryViewUtil.instance
+import com.github.stefvanschie.inventoryframework.util.XMLUtil
 import com.github.stefvanschie.inventoryframework.util.version.Version.Companion.version
 import com.github.stefvanschie.inventoryframework.util.version.VersionMatcher.newStonecutterInventory
 import org.bukkit.entity.HumanEntity
@@ -27,7 +30,6 @@ import org.w3c.dom.NodeList
 import org.xml.sax.SAXException
 import java.io.IOException
 import java.io.InputStream
-import javax.xml.parsers.DocumentBuilderFactory
 import javax.xml.parsers.ParserConfigurationException
 
 /**
@@ -121,13 +123,13 @@ class StonecutterGui : NamedGui, InventoryBased {
     override fun show(humanEntity: HumanEntity) {
         require(humanEntity is Player) { "Enchanting tables can only be opened by players" }
 
+        invalidateFrames(humanEntity)
+
         if (isDirty()) {
             this.inventory = createInventory()
             markChanges()
         }
 
-        getInventory().clear()
-
         inputComponent.display(getInventory(), 0)
         resultComponent.display(getInventory(), 1)
         playerInventoryComponent.display()
@@ -180,6 +182,18 @@ class StonecutterGui : NamedGui, InventoryBased {
         }
     }
 
+    override fun drag(context: DragContext) {
+        val rawSlot: Int = context.rawSlot
+
+        if (rawSlot == 0) {
+            inputComponent.drag(this, context, 0)
+        } else if (rawSlot == 1) {
+            resultComponent.drag(this, context, 0)
+        } else {
+            playerInventoryComponent.drag(this, context, rawSlot - 2)
+        }
+    }
+
     override fun getInventory(): Inventory {
         if (this.inventory == null) {
             this.inventory = createInventory()
@@ -210,7 +224,8 @@ class StonecutterGui : NamedGui, InventoryBased {
         val player: Player = event.getWhoClicked() as Player
 
         if (slot >= 2 && slot <= 37) {
-            stonecutterInventory.sendItems(player, topItems)
+            ClientResyncQueue.queue(super.plugin, player, this,
+                Runnable { stonecutterInventory.sendItems(player, topItems) })
         } else if (slot == 0 || slot == 1) {
             stonecutterInventory.sendItems(player, topItems)
 
@@ -265,7 +280,7 @@ class StonecutterGui : NamedGui, InventoryBased {
         ): StonecutterGui? {
             try {
                 val document: Document =
-                    DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(inputStream)
+                    XMLUtil.getDocumentBuilder().parse(inputStream)
                 val documentElement: Element = document.getDocumentElement()
 
                 documentElement.normalize()
@@ -1,19 +1,28 @@
 package com.github.stefvanschie.inventoryframework.gui.type.util
 
 import com.github.stefvanschie.inventoryframework.HumanEntityCache
+import com.github.stefvanschie.inventoryframework.abstraction.WindowContents
 import com.github.stefvanschie.inventoryframework.exception.XMLLoadException
+import com.github.stefvanschie.inventoryframework.gui.DragContext
 import com.github.stefvanschie.inventoryframework.gui.GuiListener
+import com.github.stefvanschie.inventoryframework.gui.InventoryComponent
+import com.github.stefvanschie.inventoryframework.gui.OpenGuiRegistry
 import com.github.stefvanschie.inventoryframework.gui.type.*
 import com.github.stefvanschie.inventoryframework.pane.*
 import com.github.stefvanschie.inventoryframework.pane.component.*
 import com.github.stefvanschie.inventoryframework.util.InventoryViewUtil.instance
+import com.github.stefvanschie.inventoryframework.util.SchedulerUtil
 import com.github.stefvanschie.inventoryframework.util.TriFunction
+import com.github.stefvanschie.inventoryframework.util.XMLUtil
 import com.github.stefvanschie.inventoryframework.util.XMLUtil.invokeMethod
 import com.github.stefvanschie.inventoryframework.util.XMLUtil.loadFieldAttribute
 import com.github.stefvanschie.inventoryframework.util.XMLUtil.loadOnEventAttribute
+import com.github.stefvanschie.inventoryframework.util.version.Version
+import com.github.stefvanschie.inventoryframework.util.version.VersionMatcher.newWindowContents
 import org.bukkit.Bukkit
 import org.bukkit.Material
 import org.bukkit.entity.HumanEntity
+import org.bukkit.entity.Player
 import org.bukkit.event.inventory.InventoryClickEvent
 import org.bukkit.event.inventory.InventoryCloseEvent
 import org.bukkit.event.inventory.InventoryDragEvent
@@ -29,11 +38,12 @@ import org.xml.sax.SAXException
 import java.io.IOException
 import java.io.InputStream
 import java.util.*
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.atomic.AtomicLong
 import java.util.function.BiFunction
 import java.util.function.Consumer
 import java.util.function.Function
 import java.util.logging.Level
-import javax.xml.parsers.DocumentBuilderFactory
 import javax.xml.parsers.ParserConfigurationException
 
 /**
@@ -118,6 +128,73 @@ abstract class Gui(
     @get:Contract(pure = true)
     var isUpdating: Boolean = false
 
+    /**
+     * Gets whether updates of this gui are coalesced, see [scheduleUpdate].
+     *
+     * @return whether updates are coalesced
+     * @since 0.11.0
+     */
+    /**
+     * Sets whether updates of this gui should be coalesced. When enabled, [update] no longer updates the gui
+     * immediately, but schedules an update for the next tick via [scheduleUpdate], so that the gui is updated at most
+     * once per tick for every viewer, regardless of how often [update] is called. This is disabled by default.
+     *
+     * @param coalescingUpdates whether updates should be coalesced
+     * @since 0.11.0
+     */
+    @get:Contract(pure = true)
+    var isCoalescingUpdates: Boolean = false
+
+    /**
+     * Gets whether this gui is read-only.
+     *
+     * @return true if this gui is read-only, false otherwise
+     * @since 0.11.0
+     */
+    /**
+     * Sets whether this gui is read-only. Every click and drag in a read-only gui is cancelled immediately, without
+     * being dispatched to the panes of this gui and without calling the click and drag consumers of this gui. This is
+     * meant for guis that only display information. This is disabled by default.
+     *
+     * @param readOnly whether this gui is read-only
+     * @since 0.11.0
+     */
+    @get:Contract(pure = true)
+    var isReadOnly: Boolean = false
+
+    /**
+     * Gets the amount of viewer updates that were requested while an update for that viewer was already scheduled and
+     * were therefore merged into the scheduled update, see [scheduleUpdate].
+     *
+     * @return the amount of collapsed updates
+     * @since 0.11.0
+     */
+    @get:Contract(pure = true)
+    val collapsedUpdateCount: Long
+        get() = collapsedUpdates.get()
+
+    /**
+     * The amount of viewer updates that were merged into an already scheduled update
+     */
+    private val collapsedUpdates: AtomicLong = AtomicLong()
+
+    /**
+     * The unique ids of the viewers for whom an update is scheduled that has not started running yet
+     */
+    private val scheduledViewers: MutableSet<UUID> = ConcurrentHashMap.newKeySet()
+
+    /**
+     * The unique ids of the viewers that are currently being updated by a scheduled update. Scheduled updates run on
+     * the thread of each viewer, so unlike [isUpdating], this is tracked per viewer.
+     */
+    private val updatingViewers: MutableSet<UUID> = ConcurrentHashMap.newKeySet()
+
+    /**
+     * The lock held while this gui is rendered. Scheduled updates run on the thread of each viewer, but every viewer is
+     * rendered from the same inventory components and panes, so only one viewer may be rendered at a time.
+     */
+    protected val renderLock: Any = Any()
+
     /**
      * The parent gui. This gui will be navigated to once a player closes this gui. If this is null, the player will not
      * be redirected to another gui once they close this gui.
@@ -153,6 +230,16 @@ abstract class Gui(
      */
     abstract fun click(event: InventoryClickEvent)
 
+    /**
+     * Delegates the raw slot currently being dispatched in the specified drag context to the pane owning that slot, see
+     * [Pane.drag]. Every gui of IF maps the raw slot to its inventory components in the same way as [click]. By
+     * default, this does nothing, so guis that don't override this do not dispatch drags to their panes.
+     *
+     * @param context the context of the drag
+     * @since 0.11.0
+     */
+    open fun drag(context: DragContext) {}
+
     /**
      * Gets whether the player inventory is currently in use. This means whether the player inventory currently has an
      * item in it.
@@ -169,12 +256,127 @@ abstract class Gui(
     abstract val viewers: List<HumanEntity>
 
     /**
-     * Update the gui for everyone
+     * Update the gui for everyone. If updates are coalesced, the update is scheduled for the next tick instead, see
+     * [isCoalescingUpdates].
      */
     fun update() {
+        if (isCoalescingUpdates) {
+            scheduleUpdate()
+
+            return
+        }
+
+        updateNow()
+    }
+
+    /**
+     * Schedules an update of this gui for the next tick using the scheduler of IF, see [SchedulerUtil]. Every viewer is
+     * updated by its own task, on the thread owning that viewer, see [updateNow]. Updates are coalesced per viewer: a
+     * viewer for whom an update is scheduled that has not started yet is not scheduled again, and such requests are
+     * counted in [collapsedUpdateCount] instead. Updates are not coalesced per gui, since the tasks of different
+     * viewers may run at different times on region threaded servers: a viewer whose update already ran must be updated
+     * again to see changes made after it ran, even while the updates of other viewers are still pending.
+     *
+     * @since 0.11.0
+     */
+    fun scheduleUpdate() {
+        for (viewer: HumanEntity in viewers) {
+            val uniqueId: UUID = viewer.getUniqueId()
+
+            //the pending update will render the latest state, since it has not started yet
+            if (!scheduledViewers.add(uniqueId)) {
+                collapsedUpdates.incrementAndGet()
+
+                continue
+            }
+
+            SchedulerUtil.instance.runTask(plugin, viewer, Runnable {
+                scheduledViewers.remove(uniqueId)
+
+                runScheduledUpdate(viewer)
+            }, Runnable {
+                scheduledViewers.remove(uniqueId)
+            })
+        }
+    }
+
+    /**
+     * Update the gui for everyone immediately, regardless of whether updates are coalesced. Viewers whose open
+     * inventory can be refreshed in place, see [updateInPlace], keep their window open; for all other viewers the gui
+     * is shown again.
+     *
+     * @since 0.11.0
+     */
+    fun updateNow() {
         isUpdating = true
 
         for (viewer in viewers) {
+            updateViewer(viewer)
+        }
+
+        if (!isUpdating) throw AssertionError("Gui#isUpdating became false before Gui#update finished")
+
+        isUpdating = false
+    }
+
+    /**
+     * Gets whether the specified human entity is currently being updated by a scheduled update, see [scheduleUpdate].
+     * Inventory close events of this human entity caused by the update should be ignored.
+     *
+     * @param humanEntity the human entity
+     * @return true if the human entity is being updated, false otherwise
+     * @since 0.11.0
+     */
+    @Contract(pure = true)
+    internal fun isUpdating(humanEntity: HumanEntity): Boolean {
+        return updatingViewers.contains(humanEntity.getUniqueId())
+    }
+
+    /**
+     * Runs a scheduled update for the specified viewer. If the viewer no longer views this gui, nothing happens.
+     *
+     * @param viewer the viewer to update
+     * @since 0.11.0
+     */
+    private fun runScheduledUpdate(viewer: HumanEntity) {
+        if (!viewers.contains(viewer)) {
+            return
+        }
+
+        val uniqueId: UUID = viewer.getUniqueId()
+
+        updatingViewers.add(uniqueId)
+
+        try {
+            updateViewer(viewer)
+        } finally {
+            updatingViewers.remove(uniqueId)
+        }
+    }
+
+    /**
+     * Updates the gui for the specified viewer, either in place or by showing the gui again. This holds [renderLock]
+     * while rendering, so viewers updated on different threads never render this gui at the same time. The inventory
+     * components keep their rendered items between renders, so a viewer rendered after another one still receives every
+     * item, even though the dirty state of the panes was already cleared by the earlier render.
+     *
+     * @param viewer the viewer to update
+     * @since 0.11.0
+     */
+    private fun updateViewer(viewer: HumanEntity) {
+        val topInventory: Inventory = instance.getTopInventory(viewer.openInventory)
+
+        synchronized(renderLock) {
+            //discard writes from earlier renders, so only the writes of this update are counted
+            InventoryComponent.takeWrittenSlotCount(topInventory)
+            InventoryComponent.takeWrittenSlotCount(viewer.inventory)
+
+            if (updateInPlace(viewer)) {
+                sendWindowContents(viewer, topInventory)
+
+                return
+            }
+
             val cursor = viewer.itemOnCursor
             viewer.setItemOnCursor(ItemStack(Material.AIR))
 
@@ -182,10 +384,75 @@ abstract class Gui(
 
             viewer.setItemOnCursor(cursor)
         }
+    }
 
-        if (!isUpdating) throw AssertionError("Gui#isUpdating became false before Gui#update finished")
+    /**
+     * Re-renders the contents of this gui into the inventory the specified human entity already has open, without
+     * reopening it. This only changes the slots whose contents differ from what is currently shown. If the gui cannot
+     * be updated in place, for example because the title changed and a new inventory is required, nothing happens and
+     * false is returned, in which case the gui should be shown again.
+     *
+     * By default, guis cannot be updated in place.
+     *
+     * @param humanEntity the human entity viewing this gui
+     * @return true if the gui was updated in place, false otherwise
+     * @since 0.11.0
+     */
+    protected open fun updateInPlace(humanEntity: HumanEntity): Boolean {
+        return false
+    }
 
-        isUpdating = false
+    /**
+     * Sends the contents of the window of the specified human entity in a single packet if enough slots were written
+     * while rendering. When only a few slots were written, the server will send them as separate slot updates, which is
+     * cheaper in that case.
+     *
+     * @param humanEntity the human entity to send the window contents to
+     * @param topInventory the top inventory of the window of the human entity
+     * @since 0.11.0
+     */
+    private fun sendWindowContents(humanEntity: HumanEntity, topInventory: Inventory) {
+        val writtenSlots: Int = InventoryComponent.takeWrittenSlotCount(topInventory) +
+                InventoryComponent.takeWrittenSlotCount(humanEntity.inventory)
+
+        if (writtenSlots < WINDOW_CONTENTS_THRESHOLD || humanEntity !is Player) {
+            return
+        }
+
+        WINDOW_CONTENTS.sendContents(humanEntity)
+    }
+
+    /**
+     * Checks whether the specified human entity currently has the inventory of this gui open.
+     *
+     * @param humanEntity the human entity to check
+     * @return true if the human entity is looking at this gui's inventory, false otherwise
+     * @since 0.11.0
+     */
+    @Contract(pure = true)
+    protected fun isViewing(humanEntity: HumanEntity): Boolean {
+        val inventory: Inventory = this.inventory ?: return false
+
+        return instance.getTopInventory(humanEntity.openInventory) == inventory
+    }
+
+    /**
+     * Forgets which items were last placed into the inventory of this gui and the inventory of the specified human
+     * entity, unless the human entity is already viewing this gui. This makes the first show of this gui to a human
+     * entity write every slot again, so changes made to these inventories by anything other than IF while the gui was
+     * not being viewed are overwritten. Changes made while the gui is being viewed are only overwritten once the
+     * changed slot is rendered with a different item, see [InventoryComponent.invalidateFrame].
+     *
+     * @param humanEntity the human entity this gui is about to be shown to
+     * @since 0.11.0
+     */
+    protected fun invalidateFrames(humanEntity: HumanEntity) {
+        if (isViewing(humanEntity)) {
+            return
+        }
+
+        this.inventory?.let { InventoryComponent.invalidateFrame(it) }
+        InventoryComponent.invalidateFrame(humanEntity.getInventory())
     }
 
     /**
@@ -196,7 +463,19 @@ abstract class Gui(
      * @since 0.8.1
      */
     protected fun addInventory(inventory: Inventory, gui: Gui) {
-        GUI_INVENTORIES[inventory] = gui
+        OPEN_GUIS.registerInventory(inventory, gui)
+    }
+
+    /**
+     * Registers that the specified human entity has this gui open. Guis whose inventory is opened without an
+     * [org.bukkit.event.inventory.InventoryOpenEvent] being called should call this after opening the inventory,
+     * otherwise events in the inventory will not reach this gui.
+     *
+     * @param humanEntity the human entity that opened this gui
+     * @since 0.11.0
+     */
+    protected fun addOpenViewer(humanEntity: HumanEntity) {
+        OPEN_GUIS.register(humanEntity.uniqueId, this)
     }
 
     /**
@@ -210,6 +489,8 @@ abstract class Gui(
     protected open fun initializeOrThrow(instance: Any, element: Element) {
         if (element.hasAttribute("field")) loadFieldAttribute(instance, element, this)
 
+        if (element.hasAttribute("readOnly")) isReadOnly = element.getAttribute("readOnly").toBoolean()
+
         if (element.hasAttribute("onTopClick")) {
             setOnTopClick(
                 loadOnEventAttribute(
@@ -544,11 +825,23 @@ abstract class Gui(
             HashMap()
 
         /**
-         * A map containing the relations between inventories and their respective gui. This is needed because Bukkit and
-         * Spigot ignore inventory holders for beacons, brewing stands, dispensers, droppers, furnaces and hoppers. The
-         * inventory holder for beacons is already being set properly via NMS, but this contains the other inventory types.
+         * The registry containing the relations between inventories and their respective gui and the guis human
+         * entities currently have open. The inventories are needed because Bukkit and Spigot ignore inventory holders
+         * for beacons, brewing stands, dispensers, droppers, furnaces and hoppers. The inventory holder for beacons is
+         * already being set properly via NMS, but this contains the other inventory types.
          */
-        private val GUI_INVENTORIES: MutableMap<Inventory, Gui> = WeakHashMap()
+        internal val OPEN_GUIS: OpenGuiRegistry = OpenGuiRegistry()
+
+        /**
+         * The minimum amount of written slots for which the entire window contents are sent in a single packet after
+         * updating a gui in place
+         */
+        private const val WINDOW_CONTENTS_THRESHOLD: Int = 16
+
+        /**
+         * The window contents sender for the current version
+         */
+        private val WINDOW_CONTENTS: WindowContents by lazy { newWindowContents(Version.version) }
 
         /**
          * Whether listeners have ben registered by some gui
@@ -565,7 +858,21 @@ abstract class Gui(
          */
         @Contract(pure = true)
         fun getGui(inventory: Inventory): Gui? {
-            return GUI_INVENTORIES[inventory]
+            return OPEN_GUIS.getGui(inventory)
+        }
+
+        /**
+         * Gets the registry that keeps track of the inventories of all guis and of the guis human entities currently
+         * have open. The registry can be used to monitor how many guis are open and by how many viewers. Guis register
+         * and unregister themselves when they are shown and closed, so the registry should not be modified directly.
+         *
+         * @return the open gui registry
+         * @since 0.11.0
+         */
+        @JvmStatic
+        @Contract(pure = true)
+        fun getOpenGuiRegistry(): OpenGuiRegistry {
+            return OPEN_GUIS
         }
 
         /**
@@ -595,7 +902,7 @@ abstract class Gui(
         ): Gui? {
             try {
                 val document =
-                    DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(inputStream)
+                    XMLUtil.getDocumentBuilder().parse(inputStream)
                 val documentElement = document.documentElement
 
                 documentElement.normalize()
@@ -621,6 +928,18 @@ abstract class Gui(
             }
         }
 
+        /**
+         * Gets the loader registered for the specified gui type via [registerGui].
+         *
+         * @param type the name of the gui type
+         * @return the loader, or null if the type is not registered
+         * @since 0.11.0
+         */
+        @Contract(pure = true)
+        internal fun getGuiMapping(type: String): TriFunction<in Any, in Element, in Plugin, out Gui>? {
+            return GUI_MAPPINGS[type]
+        }
+
         /**
          * Registers a property that can be used inside an XML file to add additional new properties.
          *
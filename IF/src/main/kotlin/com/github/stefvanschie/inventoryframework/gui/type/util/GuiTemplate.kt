@@ -0,0 +1,163 @@
+package com.github.stefvanschie.inventoryframework.gui.type.util
+
+import com.github.stefvanschie.inventoryframework.exception.XMLLoadException
+import com.github.stefvanschie.inventoryframework.util.TriFunction
+import com.github.stefvanschie.inventoryframework.util.XMLUtil
+import org.bukkit.plugin.Plugin
+import org.bukkit.plugin.java.JavaPlugin
+import org.jetbrains.annotations.Contract
+import org.w3c.dom.Document
+import org.w3c.dom.Element
+import org.xml.sax.SAXException
+import java.io.IOException
+import java.io.InputStream
+import java.util.*
+import java.util.concurrent.ConcurrentLinkedQueue
+import javax.xml.parsers.ParserConfigurationException
+
+/**
+ * An XML gui that has been parsed once, so it can be instantiated many times without parsing the XML file again. The
+ * gui type is resolved when the template is compiled, while the instance on which fields and methods are referenced is
+ * bound per instantiation. Look-ups of materials, enchantments, methods and fields are cached, so instantiating the
+ * same template again only creates the gui itself. Every instantiation reads its own copy of the parsed document, so a
+ * template can be instantiated from multiple threads at once.
+ *
+ * ```java
+ * GuiTemplate<ChestGui> template = GuiTemplate.compile(inputStream, ChestGui.Companion::load);
+ *
+ * template.instantiate(controller).show(player);
+ * ```
+ *
+ * @param T the type of gui created by this template
+ * @param element the parsed document element
+ * @param loader the loader creating guis from the document element
+ * @since 0.11.0
+ */
+class GuiTemplate<T : Gui> private constructor(
+    /**
+     * The parsed document element
+     */
+    private val element: Element,
+    /**
+     * The loader creating guis from the document element
+     */
+    private val loader: TriFunction<in Any, in Element, in Plugin, out T>
+) {
+
+    /**
+     * Copies of the document element that are not being used by an instantiation
+     */
+    private val copies: Queue<Element> = ConcurrentLinkedQueue()
+
+    /**
+     * Creates a new gui from this template, referencing fields and methods on the specified instance. DOM
+     * implementations are not safe for concurrent reads and loading may mark attributes as ids, so every instantiation
+     * takes a copy of the document that no other instantiation uses at the same time. Copies are reused by later
+     * instantiations, so a new copy is only made when more instantiations run at once than ever before.
+     *
+     * @param instance the instance on which to reference fields and methods
+     * @param plugin the plugin that will be the owner of the created gui
+     * @return the new gui
+     * @throws XMLLoadException if the gui could not be loaded
+     * @since 0.11.0
+     */
+    @JvmOverloads
+    fun instantiate(
+        instance: Any,
+        plugin: Plugin = JavaPlugin.getProvidingPlugin(GuiTemplate::class.java)
+    ): T {
+        val copy: Element = copies.poll() ?: copyElement()
+
+        try {
+            return loader.apply(instance, copy, plugin)
+        } finally {
+            copies.offer(copy)
+        }
+    }
+
+    /**
+     * Creates a new copy of the document element. The original document is only read while copying, which is done one
+     * copy at a time.
+     *
+     * @return the copy of the document element
+     * @since 0.11.0
+     */
+    @Contract(pure = true)
+    private fun copyElement(): Element {
+        synchronized(element) {
+            return (element.ownerDocument.cloneNode(true) as Document).documentElement
+        }
+    }
+
+    companion object {
+
+        /**
+         * Compiles a template from the specified XML file. The type of gui is determined by the type attribute of the
+         * root element, in the same way as [Gui.load].
+         *
+         * @param inputStream the input stream containing the XML data
+         * @return the template
+         * @throws XMLLoadException if the file could not be parsed or the type attribute is missing or invalid
+         * @since 0.11.0
+         */
+        @JvmStatic
+        @Contract(pure = true)
+        fun compile(inputStream: InputStream): GuiTemplate<Gui> {
+            val element: Element = parse(inputStream)
+
+            if (!element.hasAttribute("type")) {
+                throw XMLLoadException("Type attribute must be specified when compiling a template without a loader")
+            }
+
+            val type: String = element.getAttribute("type")
+            val loader: TriFunction<in Any, in Element, in Plugin, out Gui> = Gui.getGuiMapping(type)
+                ?: throw XMLLoadException("Type attribute '$type' is invalid")
+
+            return GuiTemplate(element, loader)
+        }
+
+        /**
+         * Compiles a template from the specified XML file, creating guis with the specified loader, for example
+         * `ChestGui.Companion::load` from Java.
+         *
+         * @param T the type of gui created by the template
+         * @param inputStream the input stream containing the XML data
+         * @param loader the loader creating guis from the document element
+         * @return the template
+         * @throws XMLLoadException if the file could not be parsed
+         * @since 0.11.0
+         */
+        @JvmStatic
+        @Contract(pure = true)
+        fun <T : Gui> compile(
+            inputStream: InputStream,
+            loader: TriFunction<in Any, in Element, in Plugin, out T>
+        ): GuiTemplate<T> {
+            return GuiTemplate(parse(inputStream), loader)
+        }
+
+        /**
+         * Parses the specified XML file into its normalized document element.
+         *
+         * @param inputStream the input stream containing the XML data
+         * @return the document element
+         * @throws XMLLoadException if the file could not be parsed
+         * @since 0.11.0
+         */
+        private fun parse(inputStream: InputStream): Element {
+            try {
+                val element: Element = XMLUtil.getDocumentBuilder().parse(inputStream).documentElement
+
+                element.normalize()
+
+                return element
+            } catch (exception: SAXException) {
+                throw XMLLoadException(exception)
+            } catch (exception: ParserConfigurationException) {
+                throw XMLLoadException(exception)
+            } catch (exception: IOException) {
+                throw XMLLoadException(exception)
+            }
+        }
+    }
+}
@@ -1,8 +1,11 @@
 package com.github.stefvanschie.inventoryframework.gui.type.util
 
+import com.github.stefvanschie.inventoryframework.HumanEntityCache
 import com.github.stefvanschie.inventoryframework.adventuresupport.StringHolder.Companion.of
 import com.github.stefvanschie.inventoryframework.adventuresupport.TextHolder
+import com.github.stefvanschie.inventoryframework.gui.InventoryComponent
 import com.github.stefvanschie.inventoryframework.gui.type.util.NamedGui
+import org.bukkit.entity.HumanEntity
 import org.bukkit.plugin.Plugin
 import org.bukkit.plugin.java.JavaPlugin
 import org.jetbrains.annotations.Contract
@@ -116,4 +119,61 @@ abstract class NamedGui @JvmOverloads constructor(
     fun markChanges() {
         this.isDirty = false
     }
+
+    /**
+     * Renders this gui again into the inventory the specified human entity already has open, see [render]. This is not
+     * possible if the title changed, since that requires a new inventory, or if this gui does not render through
+     * [render].
+     *
+     * @param humanEntity the human entity viewing this gui
+     * @return true if the gui was updated in place, false otherwise
+     * @since 0.11.0
+     */
+    override fun updateInPlace(humanEntity: HumanEntity): Boolean {
+        if (isDirty || !isViewing(humanEntity)) {
+            return false
+        }
+
+        return render(humanEntity)
+    }
+
+    /**
+     * Renders the panes of this gui into its inventory and, if needed, into the inventory of the specified human
+     * entity. The components are displayed by [displayComponents]; the rows it returns are placed in the inventory of
+     * the human entity if they contain an item, after storing the items the human entity had. This does not open the
+     * inventory. This holds [renderLock], so this gui is never rendered on multiple threads at the same time.
+     *
+     * @param humanEntity the human entity to render the gui for
+     * @return true if the gui was rendered, false if this gui does not render through this method
+     * @since 0.11.0
+     */
+    protected fun render(humanEntity: HumanEntity): Boolean {
+        synchronized(renderLock) {
+            val playerInventoryRows: InventoryComponent.RowView = displayComponents() ?: return false
+
+            if (playerInventoryRows.hasItem()) {
+                val humanEntityCache: HumanEntityCache = getHumanEntityCache()
+
+                if (!humanEntityCache.contains(humanEntity)) {
+                    humanEntityCache.storeAndClear(humanEntity)
+                }
+
+                playerInventoryRows.placeItems(humanEntity.getInventory(), 0)
+            }
+
+            return true
+        }
+    }
+
+    /**
+     * Displays the panes of the components of this gui and places the items that belong in the inventory of this gui
+     * into that inventory. The returned rows are the ones shown in the inventory of the viewer, which [render] places
+     * in there. Guis that do not render through [render] return null, which is the default.
+     *
+     * @return the rows shown in the inventory of the viewer, or null if this gui does not render through [render]
+     * @since 0.11.0
+     */
+    protected open fun displayComponents(): InventoryComponent.RowView? {
+        return null
+    }
 }
@@ -1,6 +1,7 @@
 package com.github.stefvanschie.inventoryframework.pane
 
 import com.github.stefvanschie.inventoryframework.exception.XMLLoadException
+import com.github.stefvanschie.inventoryframework.gui.DragContext
 import com.github.stefvanschie.inventoryframework.gui.GuiItem
 import com.github.stefvanschie.inventoryframework.gui.InventoryComponent
 import com.github.stefvanschie.inventoryframework.gui.type.util.Gui
@@ -14,6 +15,7 @@ import org.w3c.dom.Element
 import org.w3c.dom.Node
 import org.w3c.dom.NodeList
 import java.util.*
+import java.util.concurrent.CopyOnWriteArrayList
 import java.util.function.Consumer
 import java.util.stream.Collectors
 import kotlin.math.min
@@ -29,9 +31,10 @@ import kotlin.math.min
  */
 class MasonryPane : Pane, Orientable {
     /**
-     * A list of panes that should be displayed
+     * A list of panes that should be displayed. This is copy-on-write, so clicks can iterate it while handlers add or
+     * remove panes.
      */
-    override val panes: MutableList<Pane> = ArrayList()
+    override val panes: MutableList<Pane> = CopyOnWriteArrayList()
 
     /**
      * The orientation of the items in this pane
@@ -227,12 +230,12 @@ class MasonryPane : Pane, Orientable {
 
         var success: Boolean = false
 
-        for (pane: Pane in ArrayList<Pane>(panes)) {
+        for (pane: Pane in panes) {
             if (!pane.isVisible()) {
                 continue
             }
 
-            success = success || pane.click(
+            success = success || pane.dispatchClick(
                 gui, inventoryComponent, event, slot, paneOffsetX + xPosition,
                 paneOffsetY + yPosition, length, height
             )
@@ -241,6 +244,37 @@ class MasonryPane : Pane, Orientable {
         return success
     }
 
+    override fun drag(
+        gui: Gui, inventoryComponent: InventoryComponent,
+        context: DragContext, slot: Int, paneOffsetX: Int, paneOffsetY: Int, maxLength: Int,
+        maxHeight: Int
+    ): Boolean {
+        if (!super.drag(gui, inventoryComponent, context, slot, paneOffsetX, paneOffsetY, maxLength, maxHeight)) {
+            return false
+        }
+
+        val length: Int = min(length, maxLength)
+        val height: Int = min(height, maxHeight)
+
+        val paneSlot: Slot = getSlot()
+
+        val xPosition: Int = paneSlot.getX(maxLength)
+        val yPosition: Int = paneSlot.getY(maxLength)
+
+        for (pane: Pane in panes) {
+            if (!pane.isVisible()) {
+                continue
+            }
+
+            pane.dispatchDrag(
+                gui, inventoryComponent, context, slot, paneOffsetX + xPosition,
+                paneOffsetY + yPosition, length, height
+            )
+        }
+
+        return true
+    }
+
     @Contract(pure = true)
     override fun copy(): MasonryPane {
         val masonryPane: MasonryPane = MasonryPane(getSlot(), length, height, getPriority())
@@ -251,6 +285,8 @@ class MasonryPane : Pane, Orientable {
 
         masonryPane.setVisible(isVisible())
         masonryPane.onClick = onClick
+        masonryPane.onDrag = onDrag
+        masonryPane.isReadOnly = isReadOnly
         masonryPane.orientation = orientation
 
         masonryPane.uuid = uuid
@@ -266,6 +302,8 @@ class MasonryPane : Pane, Orientable {
      */
     fun addPane(pane: Pane) {
         panes.add(pane)
+
+        adopt(pane)
     }
 
     override val items: Collection<GuiItem>
@@ -285,8 +323,19 @@ class MasonryPane : Pane, Orientable {
         return panes
     }
 
+    override fun forEachChild(action: Consumer<Pane>) {
+        this.panes.forEach(action)
+    }
+
     override fun clear() {
         panes.clear()
+
+        markDirty()
+    }
+
+    override fun markChildDirty(child: Pane, x: Int, y: Int, length: Int, height: Int) {
+        //the positions of the child panes depend on each other, so any change may move every pane
+        markDirty()
     }
 
     override fun getOrientation(): Orientable.Orientation {
@@ -295,6 +344,8 @@ class MasonryPane : Pane, Orientable {
 
     override fun setOrientation(orientation: Orientable.Orientation) {
         this.orientation = orientation
+
+        markDirty()
     }
 
     companion object {
@@ -18,6 +18,7 @@ import org.w3c.dom.Element
 import org.w3c.dom.Node
 import org.w3c.dom.NodeList
 import java.util.*
+import java.util.function.Consumer
 import kotlin.math.min
 
 /**
@@ -260,7 +261,7 @@ open class OutlinePane @JvmOverloads constructor(
 
                         val item: GuiItem? = items.get(index)
                         if (item!!.isVisible()) {
-                            inventoryComponent.setItem(item, finalColumn, finalRow)
+                            inventoryComponent.setItem(item, finalColumn, finalRow, this)
                         }
                     }
                 }
@@ -307,7 +308,7 @@ open class OutlinePane @JvmOverloads constructor(
             return false
         }
 
-        val item: GuiItem? = Pane.Companion.findMatchingItem<GuiItem>(items, itemStack)
+        val item: GuiItem? = findClickedItem(inventoryComponent, slot, items, itemStack)
 
         if (item == null) {
             return false
@@ -328,6 +329,8 @@ open class OutlinePane @JvmOverloads constructor(
 
         outlinePane.setVisible(isVisible())
         outlinePane.onClick = onClick
+        outlinePane.onDrag = onDrag
+        outlinePane.isReadOnly = isReadOnly
 
         outlinePane.uuid = uuid
 
@@ -351,6 +354,8 @@ open class OutlinePane @JvmOverloads constructor(
         require(rotation % 90 == 0) { "rotation isn't divisible by 90" }
 
         this.rotation = rotation % 360
+
+        markDirty()
     }
 
     /**
@@ -361,6 +366,8 @@ open class OutlinePane @JvmOverloads constructor(
      */
     fun insertItem(item: GuiItem, index: Int) {
         items.add(index, item)
+
+        markDirty()
     }
 
     /**
@@ -370,6 +377,8 @@ open class OutlinePane @JvmOverloads constructor(
      */
     fun addItem(item: GuiItem) {
         items.add(item)
+
+        markDirty()
     }
 
     /**
@@ -380,10 +389,14 @@ open class OutlinePane @JvmOverloads constructor(
      */
     fun removeItem(item: GuiItem) {
         items.remove(item)
+
+        markDirty()
     }
 
     override fun clear() {
         items.clear()
+
+        markDirty()
     }
 
     /**
@@ -398,6 +411,8 @@ open class OutlinePane @JvmOverloads constructor(
         require(!(length != mask.getLength() || height != mask.getHeight())) { "Mask's dimension must be the same as the pane's dimension" }
 
         this.mask = mask
+
+        markDirty()
     }
 
     override var length: Int
@@ -424,14 +439,20 @@ open class OutlinePane @JvmOverloads constructor(
      */
     fun align(alignment: Alignment) {
         this.alignment = alignment
+
+        markDirty()
     }
 
     override fun flipHorizontally(flipHorizontally: Boolean) {
         this.isFlippedHorizontally = flipHorizontally
+
+        markDirty()
     }
 
     override fun flipVertically(flipVertically: Boolean) {
         this.isFlippedVertically = flipVertically
+
+        markDirty()
     }
 
     /**
@@ -441,10 +462,14 @@ open class OutlinePane @JvmOverloads constructor(
      */
     fun setGap(gap: Int) {
         this.gap = gap
+
+        markDirty()
     }
 
     override fun setOrientation(orientation: Orientable.Orientation) {
         this.orientation = orientation
+
+        markDirty()
     }
 
     /**
@@ -454,6 +479,8 @@ open class OutlinePane @JvmOverloads constructor(
      */
     fun setRepeat(repeat: Boolean) {
         this.repeat = repeat
+
+        markDirty()
     }
 
     @get:Contract(pure = true)
@@ -462,6 +489,8 @@ open class OutlinePane @JvmOverloads constructor(
             return HashSet()
         }
 
+    override fun forEachChild(action: Consumer<Pane>) {}
+
     /**
      * Gets whether this outline pane repeats itself
      *
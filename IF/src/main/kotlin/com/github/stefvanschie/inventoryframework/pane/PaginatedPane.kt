@@ -1,6 +1,7 @@
 package com.github.stefvanschie.inventoryframework.pane
 
 import com.github.stefvanschie.inventoryframework.exception.XMLLoadException
+import com.github.stefvanschie.inventoryframework.gui.DragContext
 import com.github.stefvanschie.inventoryframework.gui.GuiItem
 import com.github.stefvanschie.inventoryframework.gui.InventoryComponent
 import com.github.stefvanschie.inventoryframework.gui.type.util.Gui
@@ -18,6 +19,7 @@ import org.w3c.dom.Element
 import org.w3c.dom.Node
 import org.w3c.dom.NodeList
 import java.util.*
+import java.util.concurrent.CopyOnWriteArrayList
 import java.util.function.Consumer
 import java.util.function.Function
 import java.util.stream.Collectors
@@ -30,7 +32,8 @@ import kotlin.math.min
  */
 class PaginatedPane : Pane {
     /**
-     * A set of panes for the different pages
+     * A set of panes for the different pages. The lists created by this pane are copy-on-write, so clicks can iterate
+     * them while handlers add or remove panes.
      */
     override var panes: MutableMap<Int, MutableList<Pane>?> = HashMap()
 
@@ -106,10 +109,12 @@ class PaginatedPane : Pane {
      * @throws ArithmeticException if the highest indexed page is the maximum value
      */
     fun addPage(pane: Pane) {
-        val list: MutableList<Pane> = ArrayList(1)
+        val list: MutableList<Pane> = CopyOnWriteArrayList()
 
         list.add(pane)
 
+        adopt(pane)
+
         if (panes.isEmpty()) {
             panes.put(0, list)
 
@@ -138,10 +143,12 @@ class PaginatedPane : Pane {
      * @param pane the new pane
      */
     fun addPane(page: Int, pane: Pane) {
-        if (!panes.containsKey(page)) panes.put(page, ArrayList())
+        if (!panes.containsKey(page)) panes.put(page, CopyOnWriteArrayList())
 
         panes.get(page)!!.add(pane)
 
+        adopt(pane)
+
         panes.get(page)!!.sort(
             Comparator.comparing(
                 Function { obj: Pane -> obj.getPriority() })
@@ -156,6 +163,8 @@ class PaginatedPane : Pane {
     fun setPage(page: Int) {
         if (!panes.containsKey(page)) throw ArrayIndexOutOfBoundsException("page outside range")
         this.page = page
+
+        markDirty()
     }
 
     /**
@@ -343,12 +352,12 @@ class PaginatedPane : Pane {
 
         var success: Boolean = false
 
-        for (pane: Pane in ArrayList(panes.getOrDefault(page, emptyList()))) {
+        for (pane: Pane in panes.getOrDefault(page, emptyList())) {
             if (!pane.isVisible()) {
                 continue
             }
 
-            success = success || pane.click(
+            success = success || pane.dispatchClick(
                 gui, inventoryComponent, event, slot, paneOffsetX + xPosition,
                 paneOffsetY + yPosition, length, height
             )
@@ -357,6 +366,37 @@ class PaginatedPane : Pane {
         return success
     }
 
+    override fun drag(
+        gui: Gui, inventoryComponent: InventoryComponent,
+        context: DragContext, slot: Int, paneOffsetX: Int, paneOffsetY: Int, maxLength: Int,
+        maxHeight: Int
+    ): Boolean {
+        if (!super.drag(gui, inventoryComponent, context, slot, paneOffsetX, paneOffsetY, maxLength, maxHeight)) {
+            return false
+        }
+
+        val length: Int = min(length, maxLength)
+        val height: Int = min(height, maxHeight)
+
+        val paneSlot: Slot = getSlot()
+
+        val xPosition: Int = paneSlot.getX(maxLength)
+        val yPosition: Int = paneSlot.getY(maxLength)
+
+        for (pane: Pane in panes.getOrDefault(page, emptyList())) {
+            if (!pane.isVisible()) {
+                continue
+            }
+
+            pane.dispatchDrag(
+                gui, inventoryComponent, context, slot, paneOffsetX + xPosition,
+                paneOffsetY + yPosition, length, height
+            )
+        }
+
+        return true
+    }
+
     @Contract(pure = true)
     override fun copy(): PaginatedPane {
         val paginatedPane: PaginatedPane = PaginatedPane(getSlot(), length, height, getPriority())
@@ -369,6 +409,8 @@ class PaginatedPane : Pane {
 
         paginatedPane.setVisible(isVisible())
         paginatedPane.onClick = onClick
+        paginatedPane.onDrag = onDrag
+        paginatedPane.isReadOnly = isReadOnly
 
         paginatedPane.uuid = uuid
 
@@ -405,6 +447,8 @@ class PaginatedPane : Pane {
         }
 
         this.panes = newPanes
+
+        markDirty()
     }
 
     @Contract(pure = true)
@@ -419,6 +463,12 @@ class PaginatedPane : Pane {
         return panes
     }
 
+    override fun forEachChild(action: Consumer<Pane>) {
+        for (panes: List<Pane>? in this.panes.values) {
+            panes?.forEach(action)
+        }
+    }
+
     /**
      * Gets all the panes from inside the specified page of this pane. If the specified page is not existent, this
      * method will throw an [IllegalArgumentException]. If the specified page is existent, but doesn't
@@ -451,6 +501,8 @@ class PaginatedPane : Pane {
 
     override fun clear() {
         panes.clear()
+
+        markDirty()
     }
 
     companion object {
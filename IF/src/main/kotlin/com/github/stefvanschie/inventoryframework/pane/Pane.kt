@@ -3,6 +3,9 @@ package com.github.stefvanschie.inventoryframework.pane
 import com.github.stefvanschie.inventoryframework.adventuresupport.TextHolder.Companion.deserialize
 import com.github.stefvanschie.inventoryframework.exception.XMLLoadException
 import com.github.stefvanschie.inventoryframework.exception.XMLReflectionException
+import com.github.stefvanschie.inventoryframework.gui.AsyncClickAction
+import com.github.stefvanschie.inventoryframework.gui.ClickSnapshot
+import com.github.stefvanschie.inventoryframework.gui.DragContext
 import com.github.stefvanschie.inventoryframework.gui.GuiItem
 import com.github.stefvanschie.inventoryframework.gui.InventoryComponent
 import com.github.stefvanschie.inventoryframework.gui.type.util.Gui
@@ -12,6 +15,8 @@ import com.github.stefvanschie.inventoryframework.pane.util.Slot
 import com.github.stefvanschie.inventoryframework.util.InventoryViewUtil.instance
 import com.github.stefvanschie.inventoryframework.util.SkullUtil.setSkull
 import com.github.stefvanschie.inventoryframework.util.UUIDTagType
+import com.github.stefvanschie.inventoryframework.util.UUIDUtil
+import com.github.stefvanschie.inventoryframework.util.XMLUtil
 import com.github.stefvanschie.inventoryframework.util.XMLUtil.invokeMethod
 import com.github.stefvanschie.inventoryframework.util.XMLUtil.loadFieldAttribute
 import com.github.stefvanschie.inventoryframework.util.XMLUtil.loadOnEventAttribute
@@ -32,8 +37,11 @@ import org.w3c.dom.NodeList
 import java.lang.reflect.InvocationTargetException
 import java.lang.reflect.Method
 import java.util.*
+import java.util.concurrent.ConcurrentHashMap
 import java.util.function.Consumer
 import java.util.function.Function
+import kotlin.math.max
+import kotlin.math.min
 
 /**
  * The base class for all panes.
@@ -67,7 +75,15 @@ abstract class Pane {
      * Length is horizontal, height is vertical
      */
     @get:Contract(pure = true)
-    open var length: Int
+    open var length: Int = 0
+        set(length) {
+            //both the old and the new area have to be rendered again
+            markAreaDirty()
+
+            field = length
+
+            markAreaDirty()
+        }
     /**
      * Returns the height of this pane
      *
@@ -79,7 +95,15 @@ abstract class Pane {
      * @param height the new height
      */
     @get:Contract(pure = true)
-    open var height: Int
+    open var height: Int = 0
+        set(height) {
+            //both the old and the new area have to be rendered again
+            markAreaDirty()
+
+            field = height
+
+            markAreaDirty()
+        }
 
     /**
      * Returns the pane's visibility state
@@ -95,7 +119,33 @@ abstract class Pane {
      * The visibility state of the pane
      */
     @get:Contract(pure = true)
-    var isVisible: Boolean
+    var isVisible: Boolean = true
+        set(visible) {
+            if (field == visible) {
+                return
+            }
+
+            field = visible
+
+            markDirty()
+        }
+
+    /**
+     * Gets whether this pane is read-only.
+     *
+     * @return true if this pane is read-only, false otherwise
+     * @since 0.11.0
+     */
+    /**
+     * Sets whether this pane is read-only. Clicks and drags on a read-only pane are cancelled without being dispatched
+     * to the pane or its items, so none of its click or drag handlers, nor those of its children, are called. This is
+     * meant for panes that only display information. This is disabled by default.
+     *
+     * @param readOnly whether this pane is read-only
+     * @since 0.11.0
+     */
+    @get:Contract(pure = true)
+    var isReadOnly: Boolean = false
 
     /**
      * Returns the priority of the pane
@@ -118,6 +168,11 @@ abstract class Pane {
      */
     protected var onClick: Consumer<InventoryClickEvent>? = null
 
+    /**
+     * The consumer that will be called once a player drags over this pane
+     */
+    protected var onDrag: Consumer<DragContext>? = null
+
     /**
      * Gets the [UUID] associated with this pane.
      *
@@ -131,6 +186,33 @@ abstract class Pane {
     var uUID: UUID
         protected set
 
+    /**
+     * The pane this pane was added to, or null if this pane is not part of another pane. Used to propagate changes
+     * upwards.
+     */
+    private var parent: Pane? = null
+
+    /**
+     * The inventory component this pane was last added to, or null if this pane was never added to a component
+     * directly. Used to propagate changes upwards.
+     */
+    private var inventoryComponent: InventoryComponent? = null
+
+    /**
+     * The region of this pane that changed since it was last rendered, relative to the top-left corner of this pane.
+     * If nothing changed, the length and height are zero.
+     */
+    private var dirtyX: Int = 0
+    private var dirtyY: Int = 0
+    private var dirtyLength: Int = 0
+    private var dirtyHeight: Int = 0
+
+    /**
+     * The priority this pane had when it was last rendered, or null if it was never rendered. The priority is a plain
+     * field, so changes to it are detected by comparing against this before rendering.
+     */
+    private var renderedPriority: Priority? = null
+
     /**
      * Constructs a new default pane
      *
@@ -163,7 +245,7 @@ abstract class Pane {
         this.priority = priority
         this.isVisible = true
 
-        this.uUID = UUID.randomUUID()
+        this.uUID = UUIDUtil.nextUUID()
     }
 
     /**
@@ -208,7 +290,7 @@ abstract class Pane {
         this.priority = Priority.NORMAL
         this.isVisible = true
 
-        this.uUID = UUID.randomUUID()
+        this.uUID = UUIDUtil.nextUUID()
     }
 
     /**
@@ -230,11 +312,16 @@ abstract class Pane {
      * @since 0.10.8
      */
     fun setSlot(slot: Slot) {
+        //both the old and the new area have to be rendered again
+        markAreaDirty()
+
         this.slot = slot
 
         //the length should be the length of the parent container, but we don't have that, so just use one
         this.x = slot.getX(1)
         this.y = slot.getY(1)
+
+        markAreaDirty()
     }
 
     /**
@@ -243,9 +330,13 @@ abstract class Pane {
      * @param x the new x coordinate
      */
     fun setX(x: Int) {
+        markAreaDirty()
+
         this.x = x
 
         this.slot = Slot.Companion.fromXY(x, getY())
+
+        markAreaDirty()
     }
 
     /**
@@ -254,9 +345,13 @@ abstract class Pane {
      * @param y the new y coordinate
      */
     fun setY(y: Int) {
+        markAreaDirty()
+
         this.y = y
 
         this.slot = Slot.Companion.fromXY(getX(), y)
+
+        markAreaDirty()
     }
 
     /**
@@ -331,6 +426,137 @@ abstract class Pane {
         maxLength: Int, maxHeight: Int
     ): Boolean
 
+    /**
+     * Called for every slot of this pane that is affected by a drag. By default, this calls the consumer specified via
+     * [setOnDrag] if the slot lies within this pane. Panes containing other panes should override this to pass the drag
+     * on to their children.
+     *
+     * @param gui the gui in which was dragged
+     * @param inventoryComponent the inventory component in which this pane resides
+     * @param context the context of the drag, with the raw slot currently being dispatched
+     * @param slot the slot that was dragged over
+     * @param paneOffsetX the pane's offset on the x axis
+     * @param paneOffsetY the pane's offset on the y axis
+     * @param maxLength the maximum length of the pane
+     * @param maxHeight the maximum height of the pane
+     * @return whether the slot belongs to this pane
+     * @since 0.11.0
+     */
+    open fun drag(
+        gui: Gui, inventoryComponent: InventoryComponent,
+        context: DragContext, slot: Int, paneOffsetX: Int, paneOffsetY: Int,
+        maxLength: Int, maxHeight: Int
+    ): Boolean {
+        if (!containsSlot(inventoryComponent, slot, paneOffsetX, paneOffsetY, maxLength, maxHeight)) {
+            return false
+        }
+
+        callOnDrag(context)
+
+        return true
+    }
+
+    /**
+     * Delegates the specified click to this pane via [click]. If this pane is visible and read-only, the click is
+     * cancelled when it lies within this pane instead, without calling [click].
+     *
+     * @param gui the gui in which was clicked
+     * @param inventoryComponent the inventory component in which this pane resides
+     * @param event the event that occurred while clicking on this item
+     * @param slot the slot that was clicked in
+     * @param paneOffsetX the pane's offset on the x axis
+     * @param paneOffsetY the pane's offset on the y axis
+     * @param maxLength the maximum length of the pane
+     * @param maxHeight the maximum height of the pane
+     * @return whether the item was found or not
+     * @since 0.11.0
+     */
+    internal fun dispatchClick(
+        gui: Gui, inventoryComponent: InventoryComponent,
+        event: InventoryClickEvent, slot: Int, paneOffsetX: Int, paneOffsetY: Int,
+        maxLength: Int, maxHeight: Int
+    ): Boolean {
+        if (!isReadOnly || !isVisible) {
+            return click(gui, inventoryComponent, event, slot, paneOffsetX, paneOffsetY, maxLength, maxHeight)
+        }
+
+        if (!containsSlot(inventoryComponent, slot, paneOffsetX, paneOffsetY, maxLength, maxHeight)) {
+            return false
+        }
+
+        event.setCancelled(true)
+
+        return true
+    }
+
+    /**
+     * Delegates the specified drag to this pane via [drag]. If this pane is visible and read-only, the drag is
+     * cancelled when the slot lies within this pane instead, without calling [drag].
+     *
+     * @param gui the gui in which was dragged
+     * @param inventoryComponent the inventory component in which this pane resides
+     * @param context the context of the drag, with the raw slot currently being dispatched
+     * @param slot the slot that was dragged over
+     * @param paneOffsetX the pane's offset on the x axis
+     * @param paneOffsetY the pane's offset on the y axis
+     * @param maxLength the maximum length of the pane
+     * @param maxHeight the maximum height of the pane
+     * @return whether the slot belongs to this pane
+     * @since 0.11.0
+     */
+    internal fun dispatchDrag(
+        gui: Gui, inventoryComponent: InventoryComponent,
+        context: DragContext, slot: Int, paneOffsetX: Int, paneOffsetY: Int,
+        maxLength: Int, maxHeight: Int
+    ): Boolean {
+        if (!isReadOnly || !isVisible) {
+            return drag(gui, inventoryComponent, context, slot, paneOffsetX, paneOffsetY, maxLength, maxHeight)
+        }
+
+        if (!containsSlot(inventoryComponent, slot, paneOffsetX, paneOffsetY, maxLength, maxHeight)) {
+            return false
+        }
+
+        context.setCancelled(true)
+
+        return true
+    }
+
+    /**
+     * Checks whether the specified slot lies within this pane.
+     *
+     * @param inventoryComponent the inventory component in which this pane resides
+     * @param slot the slot to check
+     * @param paneOffsetX the pane's offset on the x axis
+     * @param paneOffsetY the pane's offset on the y axis
+     * @param maxLength the maximum length of the pane
+     * @param maxHeight the maximum height of the pane
+     * @return true if the slot lies within this pane, false otherwise
+     * @since 0.11.0
+     */
+    @Contract(pure = true)
+    protected fun containsSlot(
+        inventoryComponent: InventoryComponent, slot: Int, paneOffsetX: Int, paneOffsetY: Int,
+        maxLength: Int, maxHeight: Int
+    ): Boolean {
+        val length: Int = min(length, maxLength)
+        val height: Int = min(height, maxHeight)
+
+        val paneSlot: Slot = getSlot()
+
+        val xPosition: Int = paneSlot.getX(maxLength)
+        val yPosition: Int = paneSlot.getY(maxLength)
+
+        val totalLength: Int = inventoryComponent.length
+
+        val adjustedSlot: Int = slot - (xPosition + paneOffsetX) - totalLength * (yPosition + paneOffsetY)
+
+        val x: Int = adjustedSlot % totalLength
+        val y: Int = adjustedSlot / totalLength
+
+        return adjustedSlot >= 0 && x >= 0 && x < length && y >= 0 && y < height
+    }
+
     @JvmField
     @get:Contract(pure = true)
     abstract val items: Collection<GuiItem>
@@ -345,6 +571,210 @@ abstract class Pane {
      */
     abstract fun clear()
 
+    /**
+     * Gets whether part of this pane changed since it was last rendered.
+     *
+     * @return true if this pane has changed, false otherwise
+     * @since 0.11.0
+     */
+    @get:Contract(pure = true)
+    val isDirty: Boolean
+        get() = dirtyLength > 0 && dirtyHeight > 0
+
+    /**
+     * Marks this entire pane as changed, so it will be rendered again the next time the inventory component it resides
+     * in renders its changed regions.
+     *
+     * @since 0.11.0
+     * @see InventoryComponent.isPartialRendering
+     */
+    fun markDirty() {
+        markDirty(0, 0, length, height)
+    }
+
+    /**
+     * Marks the specified region of this pane as changed. The coordinates are relative to the top-left corner of this
+     * pane. The region is added to the region that was already marked as changed and is propagated to the pane and
+     * inventory component this pane resides in.
+     *
+     * @param x the x coordinate of the changed region
+     * @param y the y coordinate of the changed region
+     * @param length the length of the changed region
+     * @param height the height of the changed region
+     * @since 0.11.0
+     * @see InventoryComponent.isPartialRendering
+     */
+    fun markDirty(x: Int, y: Int, length: Int, height: Int) {
+        if (length <= 0 || height <= 0) {
+            return
+        }
+
+        if (isDirty) {
+            val maxX: Int = max(dirtyX + dirtyLength, x + length)
+            val maxY: Int = max(dirtyY + dirtyHeight, y + height)
+
+            dirtyX = min(dirtyX, x)
+            dirtyY = min(dirtyY, y)
+            dirtyLength = maxX - dirtyX
+            dirtyHeight = maxY - dirtyY
+        } else {
+            dirtyX = x
+            dirtyY = y
+            dirtyLength = length
+            dirtyHeight = height
+        }
+
+        val parent: Pane? = this.parent
+
+        if (parent != null) {
+            parent.markChildDirty(this, x, y, length, height)
+        }
+
+        val inventoryComponent: InventoryComponent? = this.inventoryComponent
+
+        if (inventoryComponent != null) {
+            val slot: Slot = getSlot()
+
+            inventoryComponent.markDirty(
+                slot.getX(inventoryComponent.length) + x, slot.getY(inventoryComponent.length) + y, length, height
+            )
+        }
+    }
+
+    /**
+     * Marks the area this pane occupies as changed, if this pane resides in another pane or in an inventory component.
+     * This is used before and after moving or resizing this pane, so both the old and the new area are rendered again.
+     *
+     * @since 0.11.0
+     */
+    private fun markAreaDirty() {
+        if (parent == null && inventoryComponent == null) {
+            return
+        }
+
+        markDirty()
+    }
+
+    /**
+     * Called when a region of a child pane of this pane is marked as changed. The coordinates are relative to the
+     * top-left corner of the child. By default, the region is translated by the position of the child and marked as
+     * changed in this pane. Panes that position their children themselves should override this.
+     *
+     * @param child the child pane that changed
+     * @param x the x coordinate of the changed region
+     * @param y the y coordinate of the changed region
+     * @param length the length of the changed region
+     * @param height the height of the changed region
+     * @since 0.11.0
+     */
+    protected open fun markChildDirty(child: Pane, x: Int, y: Int, length: Int, height: Int) {
+        val slot: Slot = child.getSlot()
+
+        markDirty(slot.getX(this.length) + x, slot.getY(this.length) + y, length, height)
+    }
+
+    /**
+     * Marks this pane and all underlying panes as unchanged. This is called once the pane has been rendered.
+     *
+     * @since 0.11.0
+     */
+    internal fun markClean() {
+        dirtyX = 0
+        dirtyY = 0
+        dirtyLength = 0
+        dirtyHeight = 0
+        renderedPriority = priority
+
+        forEachChild { pane: Pane -> pane.markClean() }
+    }
+
+    /**
+     * Marks the changes to this pane and all underlying panes that could not be marked when they were made, because
+     * they were made to plain fields, such as the [priority], or to state outside of this pane, see
+     * [markExternalChanges]. This is called before the changed regions are rendered.
+     *
+     * @since 0.11.0
+     */
+    internal fun markUntrackedChanges() {
+        val renderedPriority: Priority? = this.renderedPriority
+
+        if (renderedPriority != null && renderedPriority !== priority) {
+            markDirty()
+        }
+
+        markExternalChanges()
+
+        forEachChild { pane: Pane -> pane.markUntrackedChanges() }
+    }
+
+    /**
+     * Performs the specified action for every pane directly inside this pane. Unlike [panes], this does not include
+     * panes nested inside those panes. This is used to walk the panes on every render, so panes that build a new
+     * collection for [panes] should override this to walk their children without creating one.
+     *
+     * @param action the action to perform for every child pane
+     * @since 0.11.0
+     */
+    protected open fun forEachChild(action: Consumer<Pane>) {
+        panes.forEach(action)
+    }
+
+    /**
+     * Marks this pane as changed if state outside of this pane that this pane displays changed since this pane was last
+     * rendered. Panes only display their own state by default, so this does nothing by default.
+     *
+     * @since 0.11.0
+     */
+    protected open fun markExternalChanges() {}
+
+    /**
+     * Sets the pane the specified pane resides in to this pane, so changes to the specified pane are propagated to this
+     * pane. The specified pane is marked as changed, since it is new to this pane.
+     *
+     * @param pane the pane that was added to this pane
+     * @since 0.11.0
+     */
+    protected fun adopt(pane: Pane) {
+        pane.parent = this
+        pane.markDirty()
+    }
+
+    /**
+     * Sets the inventory component this pane resides in, so changes to this pane are propagated to the inventory
+     * component. This pane is marked as changed, since it is new to the inventory component.
+     *
+     * @param inventoryComponent the inventory component this pane was added to
+     * @since 0.11.0
+     */
+    internal fun attach(inventoryComponent: InventoryComponent) {
+        this.inventoryComponent = inventoryComponent
+
+        markDirty()
+    }
+
+    /**
+     * Finds the gui item of this pane that was clicked. If the inventory component knows which pane displayed the item
+     * in the clicked slot, the item is looked up directly. Otherwise, the clicked item is compared against the provided
+     * items, see [findMatchingItem].
+     *
+     * @param inventoryComponent the inventory component that was clicked in
+     * @param slot the slot that was clicked in
+     * @param items the items of this pane
+     * @param item the item that was clicked
+     * @return the clicked gui item, or null if the clicked item does not belong to this pane
+     * @since 0.11.0
+     */
+    @Contract(pure = true)
+    protected fun findClickedItem(
+        inventoryComponent: InventoryComponent, slot: Int, items: Collection<GuiItem>, item: ItemStack
+    ): GuiItem? {
+        if (inventoryComponent.hasDisplayedItemOwner(slot)) {
+            return inventoryComponent.getDisplayedItem(slot, this)
+        }
+
+        return findMatchingItem(items, item)
+    }
+
     /**
      * Set the consumer that should be called whenever this pane is clicked in.
      *
@@ -355,6 +785,18 @@ abstract class Pane {
         this.onClick = onClick
     }
 
+    /**
+     * Set the handler that should be called whenever this pane is clicked in. The handler runs off the server thread
+     * with a snapshot of the click, see [AsyncClickAction], and the task it returns, if any, is run on the thread
+     * owning the human entity that clicked. This replaces any consumer set via [setOnClick].
+     *
+     * @param handler the handler that gets called
+     * @since 0.11.0
+     */
+    fun setOnClickAsync(handler: Function<ClickSnapshot, Runnable?>) {
+        this.onClick = AsyncClickAction(handler)
+    }
+
     /**
      * Calls the consumer (if it's not null) that was specified using [.setOnClick],
      * so the consumer that should be called whenever this pane is clicked in.
@@ -381,6 +823,41 @@ abstract class Pane {
         }
     }
 
+    /**
+     * Set the consumer that should be called for every slot of this pane a player drags over. The slot can be retrieved
+     * from the context.
+     *
+     * @param onDrag the consumer that gets called
+     * @since 0.11.0
+     */
+    fun setOnDrag(onDrag: Consumer<DragContext>?) {
+        this.onDrag = onDrag
+    }
+
+    /**
+     * Calls the consumer (if it's not null) that was specified using [setOnDrag].
+     *
+     * @param context the context of the drag
+     * @since 0.11.0
+     */
+    protected fun callOnDrag(context: DragContext) {
+        if (onDrag == null) {
+            return
+        }
+
+        try {
+            onDrag!!.accept(context)
+        } catch (t: Throwable) {
+            throw RuntimeException(
+                ("Exception while handling drag event in inventory '"
+                        + instance.getTitle(context.getEvent().getView()) + "', slot=" + context.rawSlot +
+                        ", for " + javaClass.getSimpleName() + ", x=" + getX() + ", y=" + getY()
+                        + ", length=" + length + ", height=" + height),
+                t
+            )
+        }
+    }
+
     /**
      * An enum representing the rendering priorities for the panes. Uses a similar system to Bukkit's
      * [org.bukkit.event.EventPriority] system
@@ -469,6 +946,16 @@ abstract class Pane {
          */
         private val PROPERTY_MAPPINGS: MutableMap<String, Function<String, Any>> = HashMap()
 
+        /**
+         * The materials that have been matched for item ids in XML files, by their item id
+         */
+        private val MATERIALS: MutableMap<String, Material> = ConcurrentHashMap()
+
+        /**
+         * The enchantments that have been found for enchantment ids in XML files, by their enchantment id
+         */
+        private val ENCHANTMENTS: MutableMap<String, Enchantment> = ConcurrentHashMap()
+
         /**
          * Loads an item from an instance and an element
          *
@@ -482,7 +969,8 @@ abstract class Pane {
         @Contract(pure = true)
         fun loadItem(instance: Any, element: Element, plugin: Plugin): GuiItem {
             val id: String = element.getAttribute("id")
-            val material: Material? = Material.matchMaterial(id.uppercase(Locale.getDefault()))
+            val material: Material? = MATERIALS[id] ?: Material.matchMaterial(id.uppercase(Locale.getDefault()))
+                ?.also { MATERIALS[id] = it }
 
             if (material == null) {
                 throw XMLLoadException("Can't find material for '" + id + "'")
@@ -549,12 +1037,13 @@ abstract class Pane {
                                 "enchantments" -> {
                                     if (innerNode.getNodeName() != "enchantment") continue
 
-                                    val enchantment: Enchantment? = Enchantment.getByKey(
-                                        NamespacedKey.minecraft(
-                                            innerElementChild.getAttribute("id")
-                                                .uppercase(Locale.getDefault())
-                                        )
-                                    )
+                                    val enchantmentId: String = innerElementChild.getAttribute("id")
+                                    val enchantment: Enchantment? = ENCHANTMENTS[enchantmentId]
+                                        ?: Enchantment.getByKey(
+                                            NamespacedKey.minecraft(
+                                                enchantmentId.uppercase(Locale.getDefault())
+                                            )
+                                        )?.also { ENCHANTMENTS[enchantmentId] = it }
 
                                     if (enchantment == null) {
                                         throw XMLLoadException("Enchantment cannot be found")
@@ -598,17 +1087,13 @@ abstract class Pane {
 
             if (element.hasAttribute("onClick")) {
                 val methodName: String = element.getAttribute("onClick")
-                for (method: Method in instance.javaClass.getMethods()) {
-                    if (method.getName() != methodName) continue
-
+                for (method: Method in XMLUtil.getMethods(instance.javaClass, methodName)) {
                     val parameterCount: Int = method.getParameterCount()
                     val parameterTypes: Array<Class<*>> = method.getParameterTypes()
 
                     if (parameterCount == 0) action =
                         Consumer { event: InventoryClickEvent? ->
                             try {
-                                //because reflection with lambdas is stupid
-                                method.setAccessible(true)
                                 method.invoke(instance)
                             } catch (exception: IllegalAccessException) {
                                 throw XMLReflectionException(exception)
@@ -622,8 +1107,6 @@ abstract class Pane {
                         if (parameterCount == 1) action =
                             Consumer { event: InventoryClickEvent? ->
                                 try {
-                                    //because reflection with lambdas is stupid
-                                    method.setAccessible(true)
                                     method.invoke(instance, event)
                                 } catch (exception: IllegalAccessException) {
                                     throw XMLReflectionException(exception)
@@ -651,8 +1134,6 @@ abstract class Pane {
                                             //don't ask me why we need to do this, just roll with it (actually I do know why, but it's stupid)
                                             properties.add(0, event)
 
-                                            //because reflection with lambdas is stupid
-                                            method.setAccessible(true)
                                             method.invoke(instance, *properties.toTypedArray<Any>())
 
                                             //since we'll append the event to the list next time again, we need to remove it here again
@@ -712,6 +1193,9 @@ abstract class Pane {
             if (element.hasAttribute("visible")) pane.isVisible =
                 element.getAttribute("visible").toBoolean()
 
+            if (element.hasAttribute("readOnly")) pane.isReadOnly =
+                element.getAttribute("readOnly").toBoolean()
+
             if (element.hasAttribute("field")) loadFieldAttribute(instance, element, pane)
 
             if (element.hasAttribute("onClick")) pane.setOnClick(
@@ -723,11 +1207,8 @@ abstract class Pane {
 
             if (element.hasAttribute("populate")) {
                 val attribute: String = element.getAttribute("populate")
-                for (method: Method in instance.javaClass.getMethods()) {
-                    if (method.getName() != attribute) continue
-
+                for (method: Method in XMLUtil.getMethods(instance.javaClass, attribute)) {
                     try {
-                        method.setAccessible(true)
                         method.invoke(instance, pane)
                     } catch (exception: IllegalAccessException) {
                         throw XMLLoadException(exception)
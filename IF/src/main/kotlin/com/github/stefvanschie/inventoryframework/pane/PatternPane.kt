@@ -69,6 +69,8 @@ class PatternPane(slot: Slot, length: Int, height: Int, priority: Priority, patt
         require(!(pattern.getLength() != length || pattern.getHeight() != height)) { "Dimensions of the provided pattern do not match the dimensions of the pane" }
 
         this.pattern = pattern
+
+        markDirty()
     }
 
     /**
@@ -184,7 +186,7 @@ class PatternPane(slot: Slot, length: Int, height: Int, priority: Priority, patt
                 val finalRow: Int = slot.getY(maxLength) + newY + paneOffsetY
                 val finalColumn: Int = slot.getX(maxLength) + newX + paneOffsetX
 
-                inventoryComponent.setItem(item, finalColumn, finalRow)
+                inventoryComponent.setItem(item, finalColumn, finalRow, this)
             }
         }
     }
@@ -225,7 +227,7 @@ class PatternPane(slot: Slot, length: Int, height: Int, priority: Priority, patt
             return false
         }
 
-        val clickedItem: GuiItem? = Pane.Companion.findMatchingItem<GuiItem>(items, itemStack)
+        val clickedItem: GuiItem? = findClickedItem(inventoryComponent, slot, items, itemStack)
 
         if (clickedItem == null) {
             return false
@@ -243,6 +245,8 @@ class PatternPane(slot: Slot, length: Int, height: Int, priority: Priority, patt
 
         patternPane.setVisible(isVisible())
         patternPane.onClick = onClick
+        patternPane.onDrag = onDrag
+        patternPane.isReadOnly = isReadOnly
 
         patternPane.uuid = uuid
 
@@ -259,6 +263,8 @@ class PatternPane(slot: Slot, length: Int, height: Int, priority: Priority, patt
         require(!(rotation >= 0 && rotation % 90 != 0)) { "Rotation must be non-negative and be a multiple of 90" }
 
         this.rotation = rotation % 360
+
+        markDirty()
     }
 
     override val items: Collection<GuiItem>
@@ -294,6 +300,8 @@ class PatternPane(slot: Slot, length: Int, height: Int, priority: Priority, patt
         require(!(pattern.getLength() != getLength() || pattern.getHeight() != getHeight())) { "Dimensions of the provided pattern do not match the dimensions of the pane" }
 
         this.pattern = pattern
+
+        markDirty()
     }
 
     override var height: Int
@@ -322,6 +330,8 @@ class PatternPane(slot: Slot, length: Int, height: Int, priority: Priority, patt
      */
     fun bindItem(character: Char, item: GuiItem) {
         bindings.put(character.code, item)
+
+        markDirty()
     }
 
     /**
@@ -335,18 +345,26 @@ class PatternPane(slot: Slot, length: Int, height: Int, priority: Priority, patt
      */
     fun bindItem(character: Int, item: GuiItem) {
         bindings.put(character, item)
+
+        markDirty()
     }
 
     override fun clear() {
         bindings.clear()
+
+        markDirty()
     }
 
     override fun flipHorizontally(flipHorizontally: Boolean) {
         this.isFlippedHorizontally = flipHorizontally
+
+        markDirty()
     }
 
     override fun flipVertically(flipVertically: Boolean) {
         this.isFlippedVertically = flipVertically
+
+        markDirty()
     }
 
     override val panes: Collection<Pane>
@@ -140,7 +140,7 @@ class StaticPane @JvmOverloads constructor(
                 val slot: Slot = getSlot()
                 val finalRow: Int = slot.getY(maxLength) + y + paneOffsetY
                 val finalColumn: Int = slot.getX(maxLength) + x + paneOffsetX
-                inventoryComponent.setItem(item, finalColumn, finalRow)
+                inventoryComponent.setItem(item, finalColumn, finalRow, this)
             }
     }
 
@@ -169,6 +169,8 @@ class StaticPane @JvmOverloads constructor(
      */
     fun addItem(item: GuiItem, slot: Slot) {
         items.put(slot, item)
+
+        markDirty()
     }
 
     /**
@@ -179,6 +181,8 @@ class StaticPane @JvmOverloads constructor(
      */
     fun removeItem(item: GuiItem) {
         items.values.removeIf { guiItem: GuiItem -> guiItem == item }
+
+        markDirty()
     }
 
     /**
@@ -190,7 +194,7 @@ class StaticPane @JvmOverloads constructor(
      * @since 0.10.0
      */
     fun removeItem(x: Int, y: Int) {
-        items.remove(Slot.Companion.fromXY(x, y))
+        removeItem(Slot.Companion.fromXY(x, y))
     }
 
     /**
@@ -202,6 +206,8 @@ class StaticPane @JvmOverloads constructor(
      */
     fun removeItem(slot: Slot) {
         items.remove(slot)
+
+        markDirty()
     }
 
     override fun click(
@@ -240,8 +246,7 @@ class StaticPane @JvmOverloads constructor(
             return false
         }
 
-        val clickedItem: GuiItem? =
-            Pane.Companion.findMatchingItem<GuiItem>(items.values, itemStack)
+        val clickedItem: GuiItem? = findClickedItem(inventoryComponent, slot, items.values, itemStack)
 
         if (clickedItem == null) {
             return false
@@ -262,6 +267,8 @@ class StaticPane @JvmOverloads constructor(
 
         staticPane.setVisible(isVisible())
         staticPane.onClick = onClick
+        staticPane.onDrag = onDrag
+        staticPane.isReadOnly = isReadOnly
 
         staticPane.uuid = uuid
 
@@ -279,6 +286,8 @@ class StaticPane @JvmOverloads constructor(
         require(rotation % 90 == 0) { "rotation isn't divisible by 90" }
 
         this.rotation = rotation % 360
+
+        markDirty()
     }
 
     /**
@@ -343,6 +352,8 @@ class StaticPane @JvmOverloads constructor(
 
     override fun clear() {
         items.clear()
+
+        markDirty()
     }
 
     @get:Contract(pure = true)
@@ -351,12 +362,18 @@ class StaticPane @JvmOverloads constructor(
             return HashSet()
         }
 
+    override fun forEachChild(action: Consumer<Pane>) {}
+
     override fun flipHorizontally(flipHorizontally: Boolean) {
         this.isFlippedHorizontally = flipHorizontally
+
+        markDirty()
     }
 
     override fun flipVertically(flipVertically: Boolean) {
         this.isFlippedVertically = flipVertically
+
+        markDirty()
     }
 
     @Contract(pure = true)
@@ -13,6 +13,7 @@ import org.bukkit.plugin.java.JavaPlugin
 import org.jetbrains.annotations.Contract
 import org.w3c.dom.Element
 import org.w3c.dom.Node
+import java.util.concurrent.CopyOnWriteArrayList
 import java.util.stream.Collectors
 import kotlin.math.min
 
@@ -23,9 +24,9 @@ import kotlin.math.min
  */
 class CycleButton : Pane {
     /**
-     * The list of pane used for display
+     * The list of pane used for display. This is copy-on-write, so it can be iterated while panes are added.
      */
-    override val panes: MutableList<Pane> = ArrayList()
+    override val panes: MutableList<Pane> = CopyOnWriteArrayList()
 
     /**
      * The current position of the cycle button
@@ -110,7 +111,7 @@ class CycleButton : Pane {
 
         //use the previous position, since that will have the pane we clicked on
         val pane = panes[previousPosition]
-        pane.click(
+        pane.dispatchClick(
             gui, inventoryComponent, event, slot, paneOffsetX + x, paneOffsetY + y,
             length, height
         )
@@ -145,6 +146,8 @@ class CycleButton : Pane {
 
         cycleButton.isVisible = isVisible
         cycleButton.onClick = onClick
+        cycleButton.onDrag = onDrag
+        cycleButton.isReadOnly = isReadOnly
 
         cycleButton.position = position
 
@@ -166,6 +169,8 @@ class CycleButton : Pane {
      */
     fun addPane(index: Int, pane: Pane) {
         panes.add(index, pane)
+
+        adopt(pane)
     }
 
     /**
@@ -176,10 +181,14 @@ class CycleButton : Pane {
      */
     fun addPane(pane: Pane) {
         panes.add(pane)
+
+        adopt(pane)
     }
 
     override fun clear() {
         panes.clear()
+
+        markDirty()
     }
 
     override fun getPanes(): Collection<Pane> {
@@ -193,6 +202,8 @@ class CycleButton : Pane {
      */
     fun cycle() {
         position++
+
+        markDirty()
     }
 
     companion object {
@@ -13,7 +13,10 @@ import org.bukkit.plugin.Plugin
 import org.bukkit.plugin.java.JavaPlugin
 import org.jetbrains.annotations.Contract
 import org.w3c.dom.Element
+import java.util.*
+import java.util.concurrent.ConcurrentHashMap
 import java.util.function.BiFunction
+import kotlin.math.min
 
 /**
  * A label for displaying text.
@@ -48,6 +51,12 @@ class Label @JvmOverloads constructor(
      */
     private val plugin: Plugin
 
+    /**
+     * Whether the items of this label are the shared glyphs of the characters of [text], as set by [setText] without a
+     * processor, in which case the items can be reused for unchanged characters
+     */
+    private var isGlyphText: Boolean = false
+
     /**
      * Creates a new label
      *
@@ -232,43 +241,118 @@ class Label @JvmOverloads constructor(
         processor: BiFunction<in Char, in ItemStack, out GuiItem>
     ) {
         this.text = text
+        this.isGlyphText = false
 
         clear()
 
         for (character in text.toCharArray()) {
-            var item = font.toItem(character)
+            addItem(processor.apply(character, getGlyph(character).clone()))
+        }
+    }
 
-            if (item == null) {
-                item = font.toItem(character.uppercaseChar())
+    /**
+     * Sets the text to be displayed in this label. If this label already had text, this text will be overwritten. The
+     * items of characters that did not change are kept, and only the changed characters are marked to be rendered
+     * again. The items of this label share their item stacks with other labels using the same font, until the item
+     * stack of an item is requested via [GuiItem.item], at which point that item gets its own copy.
+     *
+     * @param text the new text
+     * @see .setText
+     * @since 0.5.0
+     */
+    fun setText(text: String) {
+        val oldText: String = this.text!!
+
+        if (!isGlyphText || items.size != oldText.length) {
+            this.text = text
+            this.isGlyphText = true
+
+            clear()
+
+            for (character in text.toCharArray()) {
+                addItem(GuiItem(getGlyph(character), plugin, true))
             }
 
-            if (item == null) {
-                item = font.toItem(character.lowercaseChar())
+            return
+        }
+
+        this.text = text
+
+        val sameLength: Boolean = oldText.length == text.length
+        val commonLength: Int = min(oldText.length, text.length)
+
+        for (index in 0 until commonLength) {
+            if (oldText[index] == text[index]) {
+                continue
             }
 
-            if (item == null) {
-                item = font.defaultItem
+            items[index] = GuiItem(getGlyph(text[index]), plugin, true)
+
+            if (sameLength) {
+                markCellDirty(index)
             }
+        }
 
-            addItem(processor.apply(character, item!!.clone()))
+        if (sameLength) {
+            return
         }
+
+        while (items.size > text.length) {
+            items.removeAt(items.size - 1)
+        }
+
+        for (index in commonLength until text.length) {
+            items.add(GuiItem(getGlyph(text[index]), plugin, true))
+        }
+
+        markDirty()
     }
 
     /**
-     * Sets the text to be displayed in this label. If this label already had text, this text will be overwritten.
+     * Gets the shared item for the specified character. If the font has no item for the character, the upper case and
+     * lower case variants of the character are tried, after which the default item of the font is used. The returned
+     * item should not be modified.
      *
-     * @param text the new text
-     * @see .setText
-     * @since 0.5.0
+     * @param character the character
+     * @return the item for the character
+     * @since 0.11.0
      */
-    fun setText(text: String) {
-        setText(
-            text
-        ) { character: Char, item: ItemStack ->
-            GuiItem(
-                item,
-                plugin
-            )
+    private fun getGlyph(character: Char): ItemStack {
+        val glyphs: MutableMap<Char, ItemStack> = synchronized(GLYPHS) {
+            GLYPHS.getOrPut(font) { ConcurrentHashMap() }
+        }
+
+        return glyphs.computeIfAbsent(character) {
+            font.toItem(character)
+                ?: font.toItem(character.uppercaseChar())
+                ?: font.toItem(character.lowercaseChar())
+                ?: font.defaultItem!!
+        }
+    }
+
+    /**
+     * Marks the cell showing the item at the specified index as changed. The cell can only be determined when the items
+     * are laid out in reading order without gaps, in which case only that cell is marked; otherwise the entire label is
+     * marked.
+     *
+     * @param index the index of the item
+     * @since 0.11.0
+     */
+    private fun markCellDirty(index: Int) {
+        val simpleLayout: Boolean = !doesRepeat() && getGap() == 0 &&
+                alignment == OutlinePane.Alignment.BEGIN && rotation == 0 &&
+                !isFlippedHorizontally && !isFlippedVertically &&
+                getMask().amountOfEnabledSlots() == length * height
+
+        if (!simpleLayout) {
+            markDirty()
+            return
+        }
+
+        if (getOrientation() == Orientable.Orientation.VERTICAL) {
+            markDirty(index / height, index % height, 1, 1)
+        } else {
+            markDirty(index % length, index / length, 1, 1)
         }
     }
 
@@ -287,6 +371,8 @@ class Label @JvmOverloads constructor(
 
         label.isVisible = isVisible
         label.onClick = onClick
+        label.onDrag = onDrag
+        label.isReadOnly = isReadOnly
 
         label.orientation = orientation
         label.rotation = rotation
@@ -298,6 +384,7 @@ class Label @JvmOverloads constructor(
         label.uuid = uuid
 
         label.text = text
+        label.isGlyphText = isGlyphText
 
         return label
     }
@@ -333,6 +420,11 @@ class Label @JvmOverloads constructor(
     }
 
     companion object {
+        /**
+         * The shared items of each font, by the character they represent
+         */
+        private val GLYPHS: MutableMap<Font, MutableMap<Char, ItemStack>> = WeakHashMap()
+
         /**
          * Loads a label from a given element
          *
@@ -51,6 +51,17 @@ class PagingButtons @JvmOverloads constructor(
      */
     private var forwardButton: GuiItem? = null
 
+    /**
+     * The page of the paginated pane when this pane was last displayed, or -1 if this pane was never displayed.
+     */
+    private var displayedPage: Int = -1
+
+    /**
+     * The amount of pages of the paginated pane when this pane was last displayed, or -1 if this pane was never
+     * displayed.
+     */
+    private var displayedPageCount: Int = -1
+
     /**
      * The plugin with which the items were created.
      */
@@ -241,7 +252,9 @@ class PagingButtons @JvmOverloads constructor(
             return false
         }
 
-        if (Pane.Companion.matchesItem(backwardButton!!, itemStack)) {
+        val clickedItem: GuiItem? = findClickedButton(inventoryComponent, slot, itemStack)
+
+        if (clickedItem === backwardButton) {
             pages.setPage(pages.getPage() - 1)
 
             backwardButton!!.callAction(event)
@@ -251,7 +264,7 @@ class PagingButtons @JvmOverloads constructor(
             return true
         }
 
-        if (Pane.Companion.matchesItem(forwardButton!!, itemStack)) {
+        if (clickedItem === forwardButton) {
             pages.setPage(pages.getPage() + 1)
 
             forwardButton!!.callAction(event)
@@ -264,6 +277,33 @@ class PagingButtons @JvmOverloads constructor(
         return false
     }
 
+    /**
+     * Finds the button of this pane that was clicked. This works like [findClickedItem], but compares the clicked item
+     * against both buttons directly, so no collection of the buttons is needed.
+     *
+     * @param inventoryComponent the inventory component that was clicked in
+     * @param slot the slot that was clicked in
+     * @param item the item that was clicked
+     * @return the clicked button, or null if the clicked item is not one of the buttons
+     * @since 0.11.0
+     */
+    @Contract(pure = true)
+    private fun findClickedButton(inventoryComponent: InventoryComponent, slot: Int, item: ItemStack): GuiItem? {
+        if (inventoryComponent.hasDisplayedItemOwner(slot)) {
+            return inventoryComponent.getDisplayedItem(slot, this)
+        }
+
+        val backwardButton: GuiItem = this.backwardButton!!
+
+        if (matchesItem(backwardButton, item)) {
+            return backwardButton
+        }
+
+        val forwardButton: GuiItem = this.forwardButton!!
+
+        return if (matchesItem(forwardButton, item)) forwardButton else null
+    }
+
     override fun display(
         inventoryComponent: InventoryComponent,
         paneOffsetX: Int,
@@ -276,12 +316,27 @@ class PagingButtons @JvmOverloads constructor(
         val x: Int = super.slot.getX(length) + paneOffsetX
         val y: Int = super.slot.getY(length) + paneOffsetY
 
-        if (pages.getPage() > 0) {
-            inventoryComponent.setItem(backwardButton!!, x, y)
+        this.displayedPage = pages.getPage()
+        this.displayedPageCount = pages.getPages()
+
+        if (displayedPage > 0) {
+            inventoryComponent.setItem(backwardButton!!, x, y, this)
+        }
+
+        if (displayedPage < displayedPageCount - 1) {
+            inventoryComponent.setItem(forwardButton!!, x + length - 1, y, this)
         }
+    }
 
-        if (pages.getPage() < pages.getPages() - 1) {
-            inventoryComponent.setItem(forwardButton!!, x + length - 1, y)
+    /**
+     * {@inheritDoc}
+     *
+     * Which buttons are shown depends on the page of the [PaginatedPane] being controlled, so this pane is marked as
+     * changed if the page or the amount of pages changed since this pane was last displayed.
+     */
+    override fun markExternalChanges() {
+        if (pages.getPage() != displayedPage || pages.getPages() != displayedPageCount) {
+            markDirty()
         }
     }
 
@@ -300,6 +355,7 @@ class PagingButtons @JvmOverloads constructor(
 
         pagingButtons.setVisible(isVisible())
         pagingButtons.onClick = super.onClick
+        pagingButtons.onDrag = super.onDrag
 
         pagingButtons.uuid = super.uuid
 
@@ -330,6 +386,8 @@ class PagingButtons @JvmOverloads constructor(
      */
     fun setBackwardButton(item: GuiItem) {
         this.backwardButton = item
+
+        markDirty()
     }
 
     /**
@@ -341,6 +399,8 @@ class PagingButtons @JvmOverloads constructor(
      */
     fun setForwardButton(item: GuiItem) {
         this.forwardButton = item
+
+        markDirty()
     }
 
     @get:Contract(pure = true)
@@ -15,6 +15,7 @@ import org.bukkit.plugin.Plugin
 import org.bukkit.plugin.java.JavaPlugin
 import org.jetbrains.annotations.Contract
 import org.w3c.dom.Element
+import java.util.function.Consumer
 import java.util.stream.Collectors
 import java.util.stream.Stream
 import kotlin.math.min
@@ -96,6 +97,9 @@ class ToggleButton @JvmOverloads constructor(
         this.disabledPane = OutlinePane(length, height)
         disabledPane.addItem(GuiItem(ItemStack(Material.RED_STAINED_GLASS_PANE), plugin))
         disabledPane.setRepeat(true)
+
+        adopt(enabledPane)
+        adopt(disabledPane)
     }
 
     /**
@@ -401,6 +405,8 @@ class ToggleButton @JvmOverloads constructor(
 
         toggleButton.isVisible = isVisible
         toggleButton.onClick = onClick
+        toggleButton.onDrag = onDrag
+        toggleButton.isReadOnly = isReadOnly
 
         toggleButton.uuid = uuid
 
@@ -462,6 +468,11 @@ class ToggleButton @JvmOverloads constructor(
                 .collect(Collectors.toSet())
         }
 
+    override fun forEachChild(action: Consumer<Pane>) {
+        action.accept(enabledPane)
+        action.accept(disabledPane)
+    }
+
     /**
      * Sets whether this toggle button can be toggled. This only prevents players from toggling the button and does not
      * prevent toggling the button programmatically with methods such as [.toggle].
@@ -480,6 +491,8 @@ class ToggleButton @JvmOverloads constructor(
      */
     fun toggle() {
         isEnabled = !isEnabled
+
+        markDirty()
     }
 
     override fun clear() {}
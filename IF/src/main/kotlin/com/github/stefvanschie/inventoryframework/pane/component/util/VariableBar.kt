@@ -10,6 +10,7 @@ import org.bukkit.event.inventory.InventoryClickEvent
 import org.bukkit.inventory.ItemStack
 import org.bukkit.plugin.Plugin
 import org.bukkit.plugin.java.JavaPlugin
+import java.util.function.Consumer
 import java.util.stream.Collectors
 import java.util.stream.Stream
 import kotlin.math.min
@@ -127,6 +128,9 @@ abstract class VariableBar protected constructor(
 
         fillPane.isVisible = false
 
+        adopt(fillPane)
+        adopt(backgroundPane)
+
         setPriority(priority)
     }
 
@@ -235,6 +239,8 @@ abstract class VariableBar protected constructor(
         } else {
             throw UnsupportedOperationException("Unknown orientation")
         }
+
+        markDirty()
     }
 
     override var length: Int
@@ -308,6 +314,8 @@ abstract class VariableBar protected constructor(
 
         copy.isVisible = isVisible
         copy.onClick = onClick
+        copy.onDrag = onDrag
+        copy.isReadOnly = isReadOnly
 
         copy.setFillItem(fillPane.items[0].copy())
         copy.setBackgroundItem(backgroundPane.items[0].copy())
@@ -348,6 +356,8 @@ abstract class VariableBar protected constructor(
         } else {
             throw IllegalArgumentException("Unknown orientation")
         }
+
+        markDirty()
     }
 
     override fun display(
@@ -419,12 +429,21 @@ abstract class VariableBar protected constructor(
         )
             .collect(Collectors.toSet())
 
+    override fun forEachChild(action: Consumer<Pane>) {
+        action.accept(fillPane)
+        action.accept(backgroundPane)
+    }
+
     override fun flipHorizontally(flipHorizontally: Boolean) {
         this.isFlippedHorizontally = flipHorizontally
+
+        markDirty()
     }
 
     override fun flipVertically(flipVertically: Boolean) {
         this.isFlippedVertically = flipVertically
+
+        markDirty()
     }
 
     override fun getOrientation(): Orientable.Orientation {
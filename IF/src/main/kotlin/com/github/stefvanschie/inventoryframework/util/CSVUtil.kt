@@ -29,10 +29,11 @@ object CSVUtil {
     fun readAll(inputStream: InputStream): List<Array<String?>> {
         BufferedReader(InputStreamReader(inputStream, StandardCharsets.UTF_8)).use { reader ->
             val strings: MutableList<Array<String?>> = ArrayList()
-            var line: String
+            var line: String? = reader.readLine()
 
-            while ((reader.readLine().also { line = it }) != null) {
+            while (line != null) {
                 if (line.isEmpty()) {
+                    line = reader.readLine()
                     continue
                 }
 
@@ -71,7 +72,7 @@ object CSVUtil {
                     val buf = StringBuffer(array[i]!!.length)
 
                     while (matcher.find()) {
-                        val character = (matcher.group(1).toInt(16) as Char).toString()
+                        val character = matcher.group(1).toInt(16).toChar().toString()
                         matcher.appendReplacement(buf, Matcher.quoteReplacement(character))
                     }
 
@@ -81,6 +82,8 @@ object CSVUtil {
                 }
 
                 strings.add(array)
+
+                line = reader.readLine()
             }
             return strings
         }
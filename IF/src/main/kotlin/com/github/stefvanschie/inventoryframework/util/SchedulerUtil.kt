@@ -0,0 +1,55 @@
+package com.github.stefvanschie.inventoryframework.util
+
+import com.github.stefvanschie.inventoryframework.util.scheduler.BukkitTaskScheduler
+import com.github.stefvanschie.inventoryframework.util.scheduler.RegionTaskScheduler
+import com.github.stefvanschie.inventoryframework.util.scheduler.TaskScheduler
+import org.jetbrains.annotations.Contract
+
+/**
+ * A utility class for scheduling the work IF defers to a later tick.
+ *
+ * @since 0.11.0
+ */
+object SchedulerUtil {
+
+    /**
+     * The scheduler in use, or null if it has not been determined yet. This is read from the threads of all regions.
+     */
+    @Volatile
+    private var scheduler: TaskScheduler? = null
+
+    @JvmStatic
+    @get:Contract(pure = true)
+    var instance: TaskScheduler
+        /**
+         * Gets the scheduler to use for the current server. Unless a scheduler was set, this is a [RegionTaskScheduler]
+         * on region threaded servers and a [BukkitTaskScheduler] otherwise.
+         *
+         * @return the scheduler
+         * @since 0.11.0
+         */
+        get() {
+            val scheduler: TaskScheduler? = this.scheduler
+
+            if (scheduler != null) {
+                return scheduler
+            }
+
+            //racing threads may both determine the scheduler, but they will determine the same kind of scheduler
+            val newScheduler: TaskScheduler =
+                if (RegionTaskScheduler.isSupported()) RegionTaskScheduler() else BukkitTaskScheduler()
+
+            this.scheduler = newScheduler
+
+            return newScheduler
+        }
+        /**
+         * Sets the scheduler IF uses for all deferred work.
+         *
+         * @param instance the scheduler to use
+         * @since 0.11.0
+         */
+        set(instance) {
+            scheduler = instance
+        }
+}
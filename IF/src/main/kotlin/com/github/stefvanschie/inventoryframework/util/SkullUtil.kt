@@ -5,25 +5,83 @@ import com.mojang.authlib.properties.Property
 import org.bukkit.Material
 import org.bukkit.inventory.ItemStack
 import org.bukkit.inventory.meta.ItemMeta
-import java.lang.reflect.InvocationTargetException
+import org.jetbrains.annotations.Contract
+import java.lang.invoke.MethodHandle
+import java.lang.invoke.MethodHandles
+import java.lang.reflect.Field
+import java.lang.reflect.Method
 import java.util.*
+import java.util.concurrent.ConcurrentHashMap
 
 /**
- * A utility class for working with skulls
+ * A utility class for working with skulls. Skulls are cached by their id, so getting the same skull multiple times
+ * only resolves its profile once. The reflective lookups needed to apply a profile are done once per [ItemMeta] class.
  *
  * @since 0.5.0
  */
 object SkullUtil {
 
+    /**
+     * The maximum amount of profiles and skulls that are cached
+     */
+    private const val CACHE_SIZE: Int = 512
+
+    /**
+     * The resolved handles for applying profiles, by the item meta class they apply to
+     */
+    private val ACCESSORS: MutableMap<Class<*>, ProfileAccessor> = ConcurrentHashMap()
+
+    /**
+     * The profiles that were created, by their skull id
+     */
+    private val PROFILES: MutableMap<String, GameProfile> = createCache()
+
+    /**
+     * The skulls that were created, by their skull id. These are never handed out directly, only clones of them are.
+     */
+    private val SKULLS: MutableMap<String, ItemStack> = createCache()
+
     /**
      * Gets a skull from the specified id. The id is the value from the textures.minecraft.net website after the last
-     * '/' character.
+     * '/' character. The returned item is a copy of a cached skull, so it can be changed freely.
      *
      * @param id the skull id
      * @return the skull item
      * @since 0.5.0
      */
     fun getSkull(id: String): ItemStack {
+        return SKULLS.computeIfAbsent(id) { createSkull(it) }.clone()
+    }
+
+    /**
+     * Sets the skull of an existing [ItemMeta] from the specified id.
+     * The id is the value from the textures.minecraft.net website after the last '/' character.
+     *
+     * @param meta the meta to change
+     * @param id the skull id
+     */
+    @JvmStatic
+    fun setSkull(meta: ItemMeta, id: String) {
+        val profile: GameProfile = PROFILES.computeIfAbsent(id) { createProfile(it) }
+        val itemDisplayName = meta.displayName
+
+        val accessor: ProfileAccessor = ACCESSORS.computeIfAbsent(meta.javaClass) { ProfileAccessor(it) }
+
+        accessor.setProfileField(meta, profile)
+
+        meta.setDisplayName(itemDisplayName)
+
+        accessor.updateSerializedProfile(meta, profile)
+    }
+
+    /**
+     * Creates a new skull with the specified id.
+     *
+     * @param id the skull id
+     * @return the skull item
+     * @since 0.11.0
+     */
+    private fun createSkull(id: String): ItemStack {
         val item = ItemStack(Material.PLAYER_HEAD)
         val itemMeta = item.itemMeta ?: throw NullPointerException("ItemMeta is null")
 
@@ -34,14 +92,13 @@ object SkullUtil {
     }
 
     /**
-     * Sets the skull of an existing [ItemMeta] from the specified id.
-     * The id is the value from the textures.minecraft.net website after the last '/' character.
+     * Creates a new profile with the texture of the specified skull id.
      *
-     * @param meta the meta to change
      * @param id the skull id
+     * @return the profile
+     * @since 0.11.0
      */
-    @JvmStatic
-    fun setSkull(meta: ItemMeta, id: String) {
+    private fun createProfile(id: String): GameProfile {
         val profile = GameProfile(UUID.randomUUID(), "")
         val encodedData = Base64.getEncoder().encode(
             String.format(
@@ -50,33 +107,107 @@ object SkullUtil {
             ).toByteArray()
         )
         profile.properties.put("textures", Property("textures", String(encodedData)))
-        val itemDisplayName = meta.displayName
 
-        try {
-            val profileField = meta.javaClass.getDeclaredField("profile")
-            profileField.isAccessible = true
-            profileField[meta] = profile
-
-            meta.setDisplayName(itemDisplayName)
-
-            // Sets serializedProfile field on meta
-            // If it does throw NoSuchMethodException this stops, and meta is correct.
-            // Else it has profile and will set the field.
-            val setProfile = meta.javaClass.getDeclaredMethod(
-                "setProfile",
-                GameProfile::class.java
-            )
-            setProfile.isAccessible = true
-            setProfile.invoke(meta, profile)
-        } catch (e: NoSuchFieldException) {
-            throw RuntimeException(e)
-        } catch (e: SecurityException) {
-            throw RuntimeException(e)
-        } catch (e: IllegalAccessException) {
-            throw RuntimeException(e)
-        } catch (e: InvocationTargetException) {
-            throw RuntimeException(e)
-        } catch (ignored: NoSuchMethodException) {
+        return profile
+    }
+
+    /**
+     * Creates a thread-safe map that keeps at most [CACHE_SIZE] entries, evicting the least recently used entry when
+     * full.
+     *
+     * @param V the type of the values
+     * @return the map
+     * @since 0.11.0
+     */
+    @Contract(pure = true)
+    private fun <V> createCache(): MutableMap<String, V> {
+        return Collections.synchronizedMap(object : LinkedHashMap<String, V>(16, 0.75f, true) {
+            override fun removeEldestEntry(eldest: MutableMap.MutableEntry<String, V>): Boolean {
+                return size > CACHE_SIZE
+            }
+        })
+    }
+
+    /**
+     * The handles for applying a profile to item metas of a single class. The setProfile method only exists in some
+     * versions, in which it also updates the serialized profile.
+     *
+     * @param metaClass the item meta class
+     * @since 0.11.0
+     */
+    private class ProfileAccessor(metaClass: Class<*>) {
+
+        /**
+         * The setter of the profile field
+         */
+        private val profileSetter: MethodHandle
+
+        /**
+         * The setProfile method, or null if the item meta class does not have it
+         */
+        private val setProfile: MethodHandle?
+
+        init {
+            val lookup: MethodHandles.Lookup = MethodHandles.lookup()
+
+            try {
+                val profileField: Field = metaClass.getDeclaredField("profile")
+                profileField.isAccessible = true
+
+                this.profileSetter = lookup.unreflectSetter(profileField)
+            } catch (e: NoSuchFieldException) {
+                throw RuntimeException(e)
+            } catch (e: SecurityException) {
+                throw RuntimeException(e)
+            } catch (e: IllegalAccessException) {
+                throw RuntimeException(e)
+            }
+
+            this.setProfile = try {
+                val method: Method = metaClass.getDeclaredMethod("setProfile", GameProfile::class.java)
+                method.isAccessible = true
+
+                lookup.unreflect(method)
+            } catch (ignored: NoSuchMethodException) {
+                null
+            } catch (e: IllegalAccessException) {
+                throw RuntimeException(e)
+            }
+        }
+
+        /**
+         * Sets the profile field of the specified meta to the specified profile.
+         *
+         * @param meta the meta to change
+         * @param profile the profile to set
+         * @since 0.11.0
+         */
+        fun setProfileField(meta: ItemMeta, profile: GameProfile) {
+            try {
+                profileSetter.invoke(meta, profile)
+            } catch (t: Throwable) {
+                throw RuntimeException(t)
+            }
+        }
+
+        /**
+         * Invokes the setProfile method of the specified meta with the specified profile, which updates the serialized
+         * profile. This does nothing if the item meta class does not have this method.
+         *
+         * @param meta the meta to change
+         * @param profile the profile to set
+         * @since 0.11.0
+         */
+        fun updateSerializedProfile(meta: ItemMeta, profile: GameProfile) {
+            if (setProfile == null) {
+                return
+            }
+
+            try {
+                setProfile.invoke(meta, profile)
+            } catch (t: Throwable) {
+                throw RuntimeException(t)
+            }
         }
     }
 }
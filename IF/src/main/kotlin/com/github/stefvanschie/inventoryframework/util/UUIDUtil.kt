@@ -0,0 +1,39 @@
+package com.github.stefvanschie.inventoryframework.util
+
+import org.jetbrains.annotations.Contract
+import java.util.*
+import java.util.concurrent.ThreadLocalRandom
+import java.util.concurrent.atomic.AtomicLong
+
+/**
+ * A utility class for creating the identifiers of gui items and panes.
+ *
+ * @since 0.11.0
+ */
+object UUIDUtil {
+
+    /**
+     * The most significant bits of every created identifier. These are chosen randomly once, so identifiers created
+     * after a restart do not collide with identifiers that may still be stored on items from before the restart.
+     */
+    private val MOST_SIGNIFICANT_BITS: Long = ThreadLocalRandom.current().nextLong()
+
+    /**
+     * The least significant bits of the previously created identifier
+     */
+    private val COUNTER: AtomicLong = AtomicLong()
+
+    /**
+     * Creates a new identifier that is unique within this server's lifetime. Unlike [UUID.randomUUID], this does not
+     * use a secure random number generator, which makes it considerably cheaper, but the created identifiers are
+     * predictable and should not be used for anything security related.
+     *
+     * @return a new identifier
+     * @since 0.11.0
+     */
+    @JvmStatic
+    @Contract(pure = false)
+    fun nextUUID(): UUID {
+        return UUID(MOST_SIGNIFICANT_BITS, COUNTER.incrementAndGet())
+    }
+}
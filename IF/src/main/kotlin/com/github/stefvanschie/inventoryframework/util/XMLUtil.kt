@@ -5,10 +5,83 @@ import com.github.stefvanschie.inventoryframework.exception.XMLReflectionExcepti
 import org.bukkit.event.Event
 import org.jetbrains.annotations.Contract
 import org.w3c.dom.Element
+import java.lang.reflect.Field
 import java.lang.reflect.InvocationTargetException
+import java.lang.reflect.Method
+import java.util.concurrent.ConcurrentHashMap
 import java.util.function.Consumer
+import javax.xml.parsers.DocumentBuilder
+import javax.xml.parsers.DocumentBuilderFactory
+import javax.xml.parsers.ParserConfigurationException
 
 object XMLUtil {
+    /**
+     * The document builder of each thread, so builders can be reused without being shared between threads
+     */
+    private val DOCUMENT_BUILDERS: ThreadLocal<DocumentBuilder> = ThreadLocal.withInitial {
+        DocumentBuilderFactory.newInstance().newDocumentBuilder()
+    }
+
+    /**
+     * The public methods of each class, by their name. The methods are in the same order as returned by
+     * [Class.getMethods].
+     */
+    private val METHODS: ClassValue<Map<String, List<Method>>> = object : ClassValue<Map<String, List<Method>>>() {
+        override fun computeValue(type: Class<*>): Map<String, List<Method>> {
+            val methods: Array<Method> = type.methods
+
+            for (method: Method in methods) {
+                try {
+                    method.isAccessible = true
+                } catch (ignored: RuntimeException) {
+                    //the method is public, so it can still be invoked if the class is accessible
+                }
+            }
+
+            return methods.groupBy { it.name }
+        }
+    }
+
+    /**
+     * The public fields of each class that have been looked up, by their name
+     */
+    private val FIELDS: ClassValue<MutableMap<String, Field>> = object : ClassValue<MutableMap<String, Field>>() {
+        override fun computeValue(type: Class<*>): MutableMap<String, Field> = ConcurrentHashMap()
+    }
+
+    /**
+     * Gets a document builder for parsing XML files. The builder is reused by the calling thread, so it should not be
+     * passed to other threads or stored.
+     *
+     * @return the document builder
+     * @throws ParserConfigurationException if no document builder can be created
+     * @since 0.11.0
+     */
+    @JvmStatic
+    @Throws(ParserConfigurationException::class)
+    fun getDocumentBuilder(): DocumentBuilder {
+        val documentBuilder: DocumentBuilder = DOCUMENT_BUILDERS.get()
+
+        documentBuilder.reset()
+
+        return documentBuilder
+    }
+
+    /**
+     * Gets the public methods with the specified name of the specified class, in the same order as returned by
+     * [Class.getMethods]. The methods are looked up once per class and have already been made accessible.
+     *
+     * @param type the class to get the methods of
+     * @param name the name of the methods
+     * @return the methods with the name
+     * @since 0.11.0
+     */
+    @JvmStatic
+    @Contract(pure = true)
+    fun getMethods(type: Class<*>, name: String): List<Method> {
+        return METHODS.get(type)[name] ?: emptyList()
+    }
+
     /**
      * Loads an event consumer from the given instance and element
      *
@@ -25,9 +98,7 @@ object XMLUtil {
         eventType: Class<T>, name: String
     ): Consumer<T>? {
         val attribute = element.getAttribute(name)
-        for (method in instance.javaClass.methods) {
-            if (method.name != attribute) continue
-
+        for (method in getMethods(instance.javaClass, attribute)) {
             val parameterCount = method.parameterCount
             val eventParameter = if (parameterCount == 0) {
                 false
@@ -41,7 +112,6 @@ object XMLUtil {
 
             return Consumer { event: T ->
                 try {
-                    method.isAccessible = true
                     if (eventParameter) {
                         method.invoke(instance, event)
                     } else {
@@ -74,17 +144,18 @@ object XMLUtil {
         instance: Any, methodName: String, argument: Any,
         parameter: Class<*>
     ) {
-        try {
-            val method = instance.javaClass.getMethod(methodName, parameter)
+        val method: Method = getMethods(instance.javaClass, methodName).firstOrNull {
+            it.parameterCount == 1 && it.parameterTypes[0] == parameter
+        } ?: throw XMLLoadException(
+            NoSuchMethodException(instance.javaClass.name + "." + methodName + "(" + parameter.name + ")")
+        )
 
-            method.isAccessible = true
+        try {
             method.invoke(instance, argument)
         } catch (exception: IllegalAccessException) {
             throw XMLLoadException(exception)
         } catch (exception: InvocationTargetException) {
             throw XMLLoadException(exception)
-        } catch (exception: NoSuchMethodException) {
-            throw XMLLoadException(exception)
         }
     }
 
@@ -98,10 +169,18 @@ object XMLUtil {
     @JvmStatic
     fun loadFieldAttribute(instance: Any, element: Element, value: Any?) {
         try {
-            val field = instance.javaClass.getField(element.getAttribute("field"))
+            val fieldName: String = element.getAttribute("field")
+            val fields: MutableMap<String, Field> = FIELDS.get(instance.javaClass)
+            var field: Field? = fields[fieldName]
+
+            if (field == null) {
+                field = instance.javaClass.getField(fieldName)
+                field.isAccessible = true
+
+                fields[fieldName] = field
+            }
 
-            field.isAccessible = true
-            field[instance] = value
+            field!![instance] = value
         } catch (e: NoSuchFieldException) {
             throw XMLLoadException(e)
         } catch (e: IllegalAccessException) {
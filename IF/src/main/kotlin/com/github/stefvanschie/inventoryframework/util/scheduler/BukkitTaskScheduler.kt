@@ -0,0 +1,28 @@
+package com.github.stefvanschie.inventoryframework.util.scheduler
+
+import org.bukkit.Bukkit
+import org.bukkit.entity.Entity
+import org.bukkit.plugin.IllegalPluginAccessException
+import org.bukkit.plugin.Plugin
+
+/**
+ * A task scheduler that runs every task on the main thread via the Bukkit scheduler. Tasks for an entity are run even
+ * if the entity was removed in the meantime; they are only dropped if they cannot be scheduled, because the plugin is
+ * disabled.
+ *
+ * @since 0.11.0
+ */
+class BukkitTaskScheduler : TaskScheduler {
+
+    override fun runTask(plugin: Plugin, task: Runnable) {
+        Bukkit.getScheduler().runTask(plugin, task)
+    }
+
+    override fun runTask(plugin: Plugin, entity: Entity, task: Runnable, retired: Runnable?) {
+        try {
+            Bukkit.getScheduler().runTask(plugin, task)
+        } catch (exception: IllegalPluginAccessException) {
+            retired?.run()
+        }
+    }
+}
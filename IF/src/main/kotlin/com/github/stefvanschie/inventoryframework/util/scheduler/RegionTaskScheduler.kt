@@ -0,0 +1,115 @@
+package com.github.stefvanschie.inventoryframework.util.scheduler
+
+import org.bukkit.Bukkit
+import org.bukkit.Server
+import org.bukkit.entity.Entity
+import org.bukkit.plugin.IllegalPluginAccessException
+import org.bukkit.plugin.Plugin
+import java.lang.reflect.InvocationTargetException
+import java.lang.reflect.Method
+import java.util.function.Consumer
+
+/**
+ * A task scheduler for region threaded servers, such as Folia. Tasks for an entity run on the entity scheduler of that
+ * entity, other tasks run on the global region scheduler. Since these schedulers are not part of the Bukkit API, they
+ * are accessed reflectively.
+ *
+ * @since 0.11.0
+ */
+class RegionTaskScheduler : TaskScheduler {
+
+    /**
+     * The method for getting the global region scheduler from the server
+     */
+    private val getGlobalRegionScheduler: Method = Server::class.java.getMethod("getGlobalRegionScheduler")
+
+    /**
+     * The method for running a task on the global region scheduler
+     */
+    private val runGlobal: Method = Class.forName(GLOBAL_REGION_SCHEDULER)
+        .getMethod("run", Plugin::class.java, Consumer::class.java)
+
+    /**
+     * The method for getting the entity scheduler from an entity
+     */
+    private val getEntityScheduler: Method = Entity::class.java.getMethod("getScheduler")
+
+    /**
+     * The method for running a task on an entity scheduler
+     */
+    private val runEntity: Method = Class.forName(ENTITY_SCHEDULER)
+        .getMethod("run", Plugin::class.java, Consumer::class.java, Runnable::class.java)
+
+    override fun runTask(plugin: Plugin, task: Runnable) {
+        val scheduler: Any = invoke(getGlobalRegionScheduler, Bukkit.getServer())!!
+
+        invoke(runGlobal, scheduler, plugin, Consumer<Any> { task.run() })
+    }
+
+    override fun runTask(plugin: Plugin, entity: Entity, task: Runnable, retired: Runnable?) {
+        val scheduler: Any = invoke(getEntityScheduler, entity)!!
+        val scheduledTask: Any?
+
+        try {
+            scheduledTask = invoke(runEntity, scheduler, plugin, Consumer<Any> { task.run() }, retired)
+        } catch (exception: IllegalPluginAccessException) {
+            retired?.run()
+
+            return
+        }
+
+        //the entity scheduler returns null without scheduling the task if the entity is already removed
+        if (scheduledTask == null) {
+            retired?.run()
+        }
+    }
+
+    /**
+     * Invokes the specified method, rethrowing any exception thrown by the method itself.
+     *
+     * @param method the method to invoke
+     * @param instance the instance to invoke the method on
+     * @param arguments the arguments to pass to the method
+     * @return the return value of the method, which may be null
+     * @since 0.11.0
+     */
+    private fun invoke(method: Method, instance: Any, vararg arguments: Any?): Any? {
+        try {
+            return method.invoke(instance, *arguments)
+        } catch (exception: IllegalAccessException) {
+            throw IllegalStateException(exception)
+        } catch (exception: InvocationTargetException) {
+            throw exception.cause ?: exception
+        }
+    }
+
+    companion object {
+        /**
+         * The name of the class of the global region scheduler
+         */
+        private const val GLOBAL_REGION_SCHEDULER: String =
+            "io.papermc.paper.threadedregions.scheduler.GlobalRegionScheduler"
+
+        /**
+         * The name of the class of the entity scheduler
+         */
+        private const val ENTITY_SCHEDULER: String = "io.papermc.paper.threadedregions.scheduler.EntityScheduler"
+
+        /**
+         * Gets whether the server is region threaded.
+         *
+         * @return true if the server is region threaded, false otherwise
+         * @since 0.11.0
+         */
+        @JvmStatic
+        fun isSupported(): Boolean {
+            try {
+                Class.forName("io.papermc.paper.threadedregions.RegionizedServer")
+
+                return true
+            } catch (exception: ClassNotFoundException) {
+                return false
+            }
+        }
+    }
+}
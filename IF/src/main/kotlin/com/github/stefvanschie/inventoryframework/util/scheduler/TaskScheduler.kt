@@ -0,0 +1,39 @@
+package com.github.stefvanschie.inventoryframework.util.scheduler
+
+import org.bukkit.entity.Entity
+import org.bukkit.plugin.Plugin
+
+/**
+ * Schedules the work IF defers to a later tick. Servers with a single main thread run all tasks on that thread, while
+ * region threaded servers run tasks for an entity on the thread owning the region that entity is in. The scheduler in
+ * use can be changed via [com.github.stefvanschie.inventoryframework.util.SchedulerUtil.instance].
+ *
+ * @since 0.11.0
+ */
+interface TaskScheduler {
+
+    /**
+     * Runs the specified task on the next tick. On region threaded servers, the task runs on the global region thread,
+     * so it should not access entities or the world.
+     *
+     * @param plugin the plugin owning the task
+     * @param task the task to run
+     * @since 0.11.0
+     */
+    fun runTask(plugin: Plugin, task: Runnable)
+
+    /**
+     * Runs the specified task on the next tick on the thread that owns the specified entity. On region threaded
+     * servers, the task is dropped if the entity is removed before the task runs, for example because the player logged
+     * off. On all servers, the task is dropped if it cannot be scheduled, for example because the plugin is disabled.
+     * When the task is dropped, the retired callback is run instead. The retired callback may run on any thread,
+     * possibly before this method returns, so it should only release state kept for the task.
+     *
+     * @param plugin the plugin owning the task
+     * @param entity the entity the task belongs to
+     * @param task the task to run
+     * @param retired the callback to run if the task is dropped, or null if nothing needs to happen in that case
+     * @since 0.11.0
+     */
+    fun runTask(plugin: Plugin, entity: Entity, task: Runnable, retired: Runnable?)
+}
@@ -63,6 +63,11 @@ object VersionMatcher {
      */
     private val STONECUTTER_INVENTORIES: EnumMap<Version, Class<out StonecutterInventory?>>
 
+    /**
+     * The different window contents senders for different versions
+     */
+    private val WINDOW_CONTENTS: EnumMap<Version, Class<out WindowContents?>>
+
     /**
      * Gets a new anvil inventory for the specified version of the specified inventory holder.
      *
@@ -307,6 +312,29 @@ object VersionMatcher {
         }
     }
 
+    /**
+     * Gets a new window contents sender for the specified version.
+     *
+     * @param version the version to get the window contents sender of
+     * @return the window contents sender
+     * @since 0.11.0
+     */
+    @JvmStatic
+    @Contract(pure = true)
+    fun newWindowContents(version: Version): WindowContents {
+        try {
+            return WINDOW_CONTENTS[version]!!.getConstructor().newInstance()!!
+        } catch (exception: InstantiationException) {
+            throw IllegalStateException(exception)
+        } catch (exception: IllegalAccessException) {
+            throw IllegalStateException(exception)
+        } catch (exception: InvocationTargetException) {
+            throw IllegalStateException(exception)
+        } catch (exception: NoSuchMethodException) {
+            throw IllegalStateException(exception)
+        }
+    }
+
     init {
         ANVIL_INVENTORIES[Version.V1_20_0] =
             AnvilInventoryImpl::class.java
@@ -464,5 +492,28 @@ object VersionMatcher {
             com.github.stefvanschie.inventoryframework.nms.v1_21_1.StonecutterInventoryImpl::class.java
         STONECUTTER_INVENTORIES[Version.V1_21_2_3] =
             com.github.stefvanschie.inventoryframework.nms.v1_21_2_3.StonecutterInventoryImpl::class.java
+
+        WINDOW_CONTENTS = EnumMap(
+            Version::class.java
+        )
+        WINDOW_CONTENTS[Version.V1_20_0] =
+            com.github.stefvanschie.inventoryframework.nms.v1_20_0.WindowContentsImpl::class.java
+        WINDOW_CONTENTS[Version.V1_20_1] =
+            com.github.stefvanschie.inventoryframework.nms.v1_20_1.WindowContentsImpl::class.java
+        WINDOW_CONTENTS[Version.V1_20_2] =
+            com.github.stefvanschie.inventoryframework.nms.v1_20_2.WindowContentsImpl::class.java
+        WINDOW_CONTENTS[Version.V1_20_3_4] =
+            com.github.stefvanschie.inventoryframework.nms.v1_20_3.WindowContentsImpl::class.java
+        //1.20.5 and 1.20.6 do not differ in the way window contents are sent
+        WINDOW_CONTENTS[Version.V1_20_5] =
+            com.github.stefvanschie.inventoryframework.nms.v1_20_6.WindowContentsImpl::class.java
+        WINDOW_CONTENTS[Version.V1_20_6] =
+            com.github.stefvanschie.inventoryframework.nms.v1_20_6.WindowContentsImpl::class.java
+        WINDOW_CONTENTS[Version.V1_21_0] =
+            com.github.stefvanschie.inventoryframework.nms.v1_21_0.WindowContentsImpl::class.java
+        WINDOW_CONTENTS[Version.V1_21_1] =
+            com.github.stefvanschie.inventoryframework.nms.v1_21_1.WindowContentsImpl::class.java
+        WINDOW_CONTENTS[Version.V1_21_2_3] =
+            com.github.stefvanschie.inventoryframework.nms.v1_21_2_3.WindowContentsImpl::class.java
     }
 }
@@ -0,0 +1,22 @@
+package com.github.stefvanschie.inventoryframework.font;
+
+import com.github.stefvanschie.inventoryframework.font.util.Font;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CSVFontTest {
+
+  @Test
+  void testBuiltInFontsNotLoaded() {
+    //initializes the font companion, creating all built-in fonts
+    Font font = Font.Companion.fromName("birch planks");
+
+    assertSame(Font.Companion.getBIRCH_PLANKS(), font);
+    assertSame(Font.Companion.getLIGHT_GRAY(), Font.Companion.fromName("light gray"));
+
+    assertFalse(((CSVFont) font).isLoaded());
+    assertFalse(((CSVFont) Font.Companion.getLIGHT_GRAY()).isLoaded());
+    assertFalse(((CSVFont) Font.Companion.getYELLOW()).isLoaded());
+  }
+}
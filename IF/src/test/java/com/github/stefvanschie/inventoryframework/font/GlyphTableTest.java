@@ -0,0 +1,73 @@
+package com.github.stefvanschie.inventoryframework.font;
+
+import com.github.stefvanschie.inventoryframework.util.CSVUtil;
+import org.junit.jupiter.api.Test;
+
+import java.io.*;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GlyphTableTest {
+
+  @Test
+  void testRead() throws IOException {
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+    try (DataOutputStream stream = new DataOutputStream(outputStream)) {
+      stream.writeInt(0x49464754);
+      stream.writeByte(1);
+      stream.writeInt(3);
+      stream.writeChar('a');
+      stream.writeUTF("first");
+      stream.writeChar('~');
+      stream.writeUTF("second");
+      stream.writeChar('ä');
+      stream.writeUTF("third");
+    }
+
+    GlyphTable glyphTable = GlyphTable.read(new ByteArrayInputStream(outputStream.toByteArray()));
+
+    assertEquals("first", glyphTable.getSkullId('a'));
+    assertEquals("second", glyphTable.getSkullId('~'));
+    assertEquals("third", glyphTable.getSkullId('ä'));
+    assertNull(glyphTable.getSkullId('b'));
+    assertNull(glyphTable.getSkullId('å'));
+  }
+
+  @Test
+  void testReadInvalid() {
+    assertThrows(IOException.class, () -> GlyphTable.read(new ByteArrayInputStream(new byte[] {1, 2, 3, 4, 5})));
+  }
+
+  @Test
+  void testFromCsv() throws IOException {
+    try (InputStream inputStream = getClass().getResourceAsStream("/test-csv-file.csv")) {
+      GlyphTable glyphTable = GlyphTable.fromCsv(CSVUtil.readAll(inputStream));
+
+      assertEquals("b", glyphTable.getSkullId('a'));
+      assertEquals("e", glyphTable.getSkullId('"'));
+      assertEquals("g", glyphTable.getSkullId('f'));
+      assertNull(glyphTable.getSkullId('b'));
+    }
+  }
+
+  @Test
+  void testCompiledMatchesCsv() throws IOException {
+    GlyphTable compiled;
+
+    try (InputStream inputStream = getClass().getResourceAsStream("/fonts/black.glyphs")) {
+      assertNotNull(inputStream);
+
+      compiled = GlyphTable.read(inputStream);
+    }
+
+    try (InputStream inputStream = getClass().getResourceAsStream("/fonts/black.csv")) {
+      List<String[]> rows = CSVUtil.readAll(inputStream);
+
+      for (String[] row : rows) {
+        assertEquals(row[1], compiled.getSkullId(row[0].charAt(0)));
+      }
+    }
+  }
+}
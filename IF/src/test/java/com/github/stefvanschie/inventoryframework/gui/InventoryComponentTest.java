@@ -1,8 +1,15 @@
 package com.github.stefvanschie.inventoryframework.gui;
 
+import com.github.stefvanschie.inventoryframework.gui.type.util.Gui;
 import com.github.stefvanschie.inventoryframework.pane.*;
+import org.bukkit.Material;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.inventory.ItemStack;
+import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.Test;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -72,6 +79,22 @@ public class InventoryComponentTest {
     assertThrows(IllegalArgumentException.class, () -> inventoryComponent.excludeRows(8, 8));
   }
 
+  @Test
+  void testRowsValid() {
+    InventoryComponent inventoryComponent = new InventoryComponent(9, 6);
+
+    assertFalse(inventoryComponent.rows(0, 1).hasItem());
+    assertSame(inventoryComponent.rows(2, 5), inventoryComponent.rows(2, 5));
+  }
+
+  @Test
+  void testRowsInvalid() {
+    InventoryComponent inventoryComponent = new InventoryComponent(9, 5);
+
+    assertThrows(IllegalArgumentException.class, () -> inventoryComponent.rows(4, 5));
+    assertThrows(IllegalArgumentException.class, () -> inventoryComponent.rows(3, 2));
+  }
+
   @Test
   void testGetPanesEmptyWhenNone() {
     assertEquals(0, new InventoryComponent(0, 0).panes.size());
@@ -96,4 +119,155 @@ public class InventoryComponentTest {
   void testGetSize() {
     assertEquals(30, new InventoryComponent(3, 10).getSize());
   }
+
+  @Test
+  void testPartialRenderMovedPane() {
+    InventoryComponent inventoryComponent = new InventoryComponent(3, 1);
+    inventoryComponent.setPartialRendering(true);
+
+    ItemStack item = new ItemStack(Material.STONE);
+    FillPane pane = new FillPane(0, 0, 1, 1, Pane.Priority.NORMAL, item);
+
+    inventoryComponent.addPane(pane);
+    inventoryComponent.display();
+
+    pane.setX(2);
+    inventoryComponent.display();
+
+    assertNull(inventoryComponent.getItem(0, 0));
+    assertNull(inventoryComponent.getItem(1, 0));
+    assertSame(item, inventoryComponent.getItem(2, 0));
+  }
+
+  @Test
+  void testPartialRenderResizedPane() {
+    InventoryComponent inventoryComponent = new InventoryComponent(3, 1);
+    inventoryComponent.setPartialRendering(true);
+
+    ItemStack item = new ItemStack(Material.STONE);
+    FillPane pane = new FillPane(0, 0, 3, 1, Pane.Priority.NORMAL, item);
+
+    inventoryComponent.addPane(pane);
+    inventoryComponent.display();
+
+    pane.setLength(1);
+    inventoryComponent.display();
+
+    assertSame(item, inventoryComponent.getItem(0, 0));
+    assertNull(inventoryComponent.getItem(1, 0));
+    assertNull(inventoryComponent.getItem(2, 0));
+  }
+
+  @Test
+  void testPartialRenderPriorityChange() {
+    InventoryComponent inventoryComponent = new InventoryComponent(1, 1);
+    inventoryComponent.setPartialRendering(true);
+
+    ItemStack lowItem = new ItemStack(Material.STONE);
+    ItemStack highItem = new ItemStack(Material.DIRT);
+    FillPane low = new FillPane(0, 0, 1, 1, Pane.Priority.LOW, lowItem);
+    FillPane high = new FillPane(0, 0, 1, 1, Pane.Priority.HIGH, highItem);
+
+    inventoryComponent.addPane(low);
+    inventoryComponent.addPane(high);
+    inventoryComponent.display();
+
+    assertSame(highItem, inventoryComponent.getItem(0, 0));
+
+    high.priority = Pane.Priority.LOWEST;
+    inventoryComponent.display();
+
+    assertSame(lowItem, inventoryComponent.getItem(0, 0));
+    assertSame(high, inventoryComponent.panes.get(0));
+  }
+
+  @Test
+  void testPartialRenderRemovedPane() {
+    InventoryComponent inventoryComponent = new InventoryComponent(2, 1);
+    inventoryComponent.setPartialRendering(true);
+
+    ItemStack item = new ItemStack(Material.STONE);
+    ItemStack otherItem = new ItemStack(Material.DIRT);
+    FillPane pane = new FillPane(0, 0, 1, 1, Pane.Priority.NORMAL, item);
+    FillPane otherPane = new FillPane(1, 0, 1, 1, Pane.Priority.NORMAL, otherItem);
+
+    inventoryComponent.addPane(pane);
+    inventoryComponent.addPane(otherPane);
+    inventoryComponent.display();
+
+    inventoryComponent.panes.remove(pane);
+    inventoryComponent.display();
+
+    assertNull(inventoryComponent.getItem(0, 0));
+    assertSame(otherItem, inventoryComponent.getItem(1, 0));
+  }
+
+  @Test
+  void testPartialRenderNestedMovedPane() {
+    InventoryComponent inventoryComponent = new InventoryComponent(3, 1);
+    inventoryComponent.setPartialRendering(true);
+
+    ItemStack item = new ItemStack(Material.STONE);
+    PaginatedPane parent = new PaginatedPane(0, 0, 3, 1);
+    FillPane child = new FillPane(0, 0, 1, 1, Pane.Priority.NORMAL, item);
+
+    parent.addPane(0, child);
+    inventoryComponent.addPane(parent);
+    inventoryComponent.display();
+
+    child.setX(1);
+    inventoryComponent.display();
+
+    assertNull(inventoryComponent.getItem(0, 0));
+    assertSame(item, inventoryComponent.getItem(1, 0));
+  }
+
+  /**
+   * A pane filling its entire area with a single item stack, so rendering can be tested without gui items.
+   */
+  private static class FillPane extends Pane {
+
+    private final ItemStack item;
+
+    FillPane(int x, int y, int length, int height, Priority priority, ItemStack item) {
+      super(x, y, length, height, priority);
+
+      this.item = item;
+    }
+
+    @Override
+    public void display(@NotNull InventoryComponent inventoryComponent, int paneOffsetX, int paneOffsetY,
+                        int maxLength, int maxHeight) {
+      int x = getSlot().getX(maxLength) + paneOffsetX;
+      int y = getSlot().getY(maxLength) + paneOffsetY;
+
+      for (int offsetX = 0; offsetX < Math.min(getLength(), maxLength); offsetX++) {
+        for (int offsetY = 0; offsetY < Math.min(getHeight(), maxHeight); offsetY++) {
+          inventoryComponent.setItem(item, x + offsetX, y + offsetY);
+        }
+      }
+    }
+
+    @Override
+    public boolean click(@NotNull Gui gui, @NotNull InventoryComponent inventoryComponent,
+                         @NotNull InventoryClickEvent event, int slot, int paneOffsetX, int paneOffsetY, int maxLength,
+                         int maxHeight) {
+      return false;
+    }
+
+    @NotNull
+    @Override
+    public Collection<GuiItem> getItems() {
+      return Collections.emptySet();
+    }
+
+    @NotNull
+    @Override
+    public Collection<Pane> getPanes() {
+      return Collections.emptySet();
+    }
+
+    @Override
+    public void clear() {}
+  }
 }
@@ -0,0 +1,281 @@
+package com.github.stefvanschie.inventoryframework.gui;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.github.stefvanschie.inventoryframework.gui.type.util.Gui;
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.bukkit.entity.HumanEntity;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.plugin.Plugin;
+import org.junit.jupiter.api.Test;
+
+public class OpenGuiRegistryTest {
+
+  @Test
+  void testUnknownViewer() {
+    OpenGuiRegistry registry = new OpenGuiRegistry();
+    UUID viewer = UUID.randomUUID();
+
+    assertFalse(registry.isViewing(viewer));
+    assertNull(registry.getGui(viewer));
+  }
+
+  @Test
+  void testEmptyCounts() {
+    OpenGuiRegistry registry = new OpenGuiRegistry();
+
+    assertEquals(0, registry.getOpenGuiCount());
+    assertEquals(0, registry.getViewerCount());
+    assertEquals(0, registry.getInventoryCount());
+    assertEquals(0, registry.getReclaimedCount());
+  }
+
+  @Test
+  void testRegisterInventory() throws ReflectiveOperationException {
+    OpenGuiRegistry registry = new OpenGuiRegistry();
+    Gui gui = createGui();
+    Inventory inventory = createInventory(new AtomicInteger());
+    Inventory otherInventory = createInventory(new AtomicInteger());
+
+    registry.registerInventory(inventory, gui);
+
+    assertSame(gui, registry.getGui(inventory));
+    assertNull(registry.getGui(otherInventory));
+
+    registry.unregisterInventory(inventory);
+
+    assertNull(registry.getGui(inventory));
+  }
+
+  @Test
+  void testRegisterViewer() throws ReflectiveOperationException {
+    OpenGuiRegistry registry = new OpenGuiRegistry();
+    Gui gui = createGui();
+    UUID viewer = UUID.randomUUID();
+
+    registry.register(viewer, gui);
+
+    assertTrue(registry.isViewing(viewer));
+    assertSame(gui, registry.getGui(viewer));
+
+    registry.unregister(viewer, gui);
+
+    assertFalse(registry.isViewing(viewer));
+    assertNull(registry.getGui(viewer));
+  }
+
+  @Test
+  void testUnregisterOtherGui() throws ReflectiveOperationException {
+    OpenGuiRegistry registry = new OpenGuiRegistry();
+    Gui gui = createGui();
+    UUID viewer = UUID.randomUUID();
+
+    registry.register(viewer, gui);
+    registry.unregister(viewer, createGui());
+
+    assertTrue(registry.isViewing(viewer));
+    assertSame(gui, registry.getGui(viewer));
+  }
+
+  @Test
+  void testOpenGuiRegistry() {
+    assertSame(Gui.getOpenGuiRegistry(), Gui.getOpenGuiRegistry());
+  }
+
+  @Test
+  void testViewerCounts() throws ReflectiveOperationException {
+    OpenGuiRegistry registry = new OpenGuiRegistry();
+    Gui gui = createGui();
+    Gui otherGui = createGui();
+    UUID firstViewer = UUID.randomUUID();
+    UUID secondViewer = UUID.randomUUID();
+    UUID thirdViewer = UUID.randomUUID();
+
+    registry.register(firstViewer, gui);
+    registry.register(secondViewer, gui);
+    registry.register(thirdViewer, otherGui);
+
+    assertEquals(2, registry.getOpenGuiCount());
+    assertEquals(3, registry.getViewerCount());
+
+    registry.register(firstViewer, gui);
+
+    assertEquals(2, registry.getOpenGuiCount());
+    assertEquals(3, registry.getViewerCount());
+
+    registry.unregister(secondViewer, gui);
+
+    assertEquals(2, registry.getOpenGuiCount());
+    assertEquals(2, registry.getViewerCount());
+
+    registry.unregister(firstViewer, gui);
+
+    assertEquals(1, registry.getOpenGuiCount());
+    assertEquals(1, registry.getViewerCount());
+    assertFalse(registry.getOpenGuis().contains(gui));
+    assertTrue(registry.getOpenGuis().contains(otherGui));
+
+    registry.unregister(thirdViewer, otherGui);
+
+    assertEquals(0, registry.getOpenGuiCount());
+    assertEquals(0, registry.getViewerCount());
+  }
+
+  @Test
+  void testReregisterViewerToOtherGui() throws ReflectiveOperationException {
+    OpenGuiRegistry registry = new OpenGuiRegistry();
+    Gui gui = createGui();
+    Gui otherGui = createGui();
+    UUID viewer = UUID.randomUUID();
+    UUID otherViewer = UUID.randomUUID();
+
+    registry.register(viewer, gui);
+    registry.register(otherViewer, gui);
+    registry.register(viewer, otherGui);
+
+    assertEquals(2, registry.getOpenGuiCount());
+    assertEquals(2, registry.getViewerCount());
+    assertSame(otherGui, registry.getGui(viewer));
+
+    registry.register(otherViewer, otherGui);
+
+    assertEquals(1, registry.getOpenGuiCount());
+    assertEquals(2, registry.getViewerCount());
+    assertFalse(registry.getOpenGuis().contains(gui));
+
+    registry.unregister(viewer, gui);
+
+    assertEquals(1, registry.getOpenGuiCount());
+    assertEquals(2, registry.getViewerCount());
+
+    registry.unregister(viewer, otherGui);
+    registry.unregister(otherViewer, otherGui);
+
+    assertEquals(0, registry.getOpenGuiCount());
+    assertEquals(0, registry.getViewerCount());
+  }
+
+  /**
+   * Compares the work done for clicks in inventories that do not belong to a gui, by human entities that do not have a
+   * gui open, against the lookup used before the fast reject. The old lookup hashed every clicked inventory and asked
+   * it for its holder, which builds a block state snapshot for block inventories. The fast reject must not touch the
+   * inventory at all.
+   */
+  @Test
+  void testForeignInventoryClickNotInspected() throws ReflectiveOperationException {
+    OpenGuiRegistry registry = new OpenGuiRegistry();
+    AtomicInteger inspections = new AtomicInteger();
+    Inventory foreignInventory = createInventory(inspections);
+    UUID viewer = UUID.randomUUID();
+    int clicks = 10_000;
+
+    registry.registerInventory(createInventory(new AtomicInteger()), createGui());
+
+    //the lookup before the fast reject
+    for (int click = 0; click < clicks; click++) {
+      if (registry.getGui(foreignInventory) == null) {
+        assertNull(foreignInventory.getHolder());
+      }
+    }
+
+    assertTrue(inspections.getAndSet(0) >= 2 * clicks);
+
+    //the fast reject
+    for (int click = 0; click < clicks; click++) {
+      if (registry.isViewing(viewer)) {
+        registry.getGui(foreignInventory);
+      }
+    }
+
+    assertEquals(0, inspections.get());
+  }
+
+  /**
+   * Creates an inventory that counts every call made to it. Inventories are only equal to themselves.
+   *
+   * @param inspections the counter to increment for every call
+   * @return the inventory
+   */
+  private static Inventory createInventory(AtomicInteger inspections) {
+    return (Inventory) Proxy.newProxyInstance(Inventory.class.getClassLoader(), new Class<?>[] {Inventory.class},
+      (proxy, method, arguments) -> {
+        inspections.incrementAndGet();
+
+        switch (method.getName()) {
+          case "hashCode":
+            return System.identityHashCode(proxy);
+          case "equals":
+            return proxy == arguments[0];
+          default:
+            return null;
+        }
+      });
+  }
+
+  /**
+   * Creates a gui without a server. Creating the first gui normally registers the listener of IF with the server, so
+   * the listener is marked as registered beforehand.
+   *
+   * @return the gui
+   * @throws ReflectiveOperationException if the listener could not be marked as registered
+   */
+  private static Gui createGui() throws ReflectiveOperationException {
+    Field hasRegisteredListeners = Gui.class.getDeclaredField("hasRegisteredListeners");
+
+    hasRegisteredListeners.setAccessible(true);
+    hasRegisteredListeners.setBoolean(null, true);
+
+    Plugin plugin = (Plugin) Proxy.newProxyInstance(Plugin.class.getClassLoader(), new Class<?>[] {Plugin.class},
+      (proxy, method, arguments) -> null);
+
+    return new TestGui(plugin);
+  }
+
+  /**
+   * A gui that cannot be shown, used to register in the registry
+   */
+  private static final class TestGui extends Gui {
+
+    private TestGui(Plugin plugin) {
+      super(plugin);
+    }
+
+    @Override
+    public void show(HumanEntity humanEntity) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Gui copy() {
+      return new TestGui(getPlugin());
+    }
+
+    @Override
+    public void click(InventoryClickEvent event) {}
+
+    @Override
+    public boolean isPlayerInventoryUsed() {
+      return false;
+    }
+
+    @Override
+    public int getViewerCount() {
+      return 0;
+    }
+
+    @Override
+    public List<HumanEntity> getViewers() {
+      return Collections.emptyList();
+    }
+  }
+}
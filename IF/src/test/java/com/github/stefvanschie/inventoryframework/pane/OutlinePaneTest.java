@@ -17,6 +17,7 @@ public class OutlinePaneTest {
   void testCopy() {
     OutlinePane original = new OutlinePane(8, 5, 1, 1, Pane.Priority.HIGHEST);
     original.setVisible(false);
+    original.setReadOnly(true);
     original.setOrientation(Orientable.Orientation.VERTICAL);
     original.setRotation(180);
     original.setGap(0);
@@ -36,6 +37,7 @@ public class OutlinePaneTest {
     assertEquals(original.getHeight(), copy.getHeight());
     assertEquals(original.priority, copy.priority);
     assertEquals(original.isVisible(), copy.isVisible());
+    assertEquals(original.isReadOnly(), copy.isReadOnly());
     assertEquals(original.getOrientation(), copy.getOrientation());
     assertEquals(original.getRotation(), copy.getRotation());
     assertEquals(original.getGap(), copy.getGap());
@@ -1,7 +1,11 @@
 package com.github.stefvanschie.inventoryframework.pane;
 
+import com.github.stefvanschie.inventoryframework.gui.InventoryComponent;
+import com.github.stefvanschie.inventoryframework.pane.util.Mask;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 public class PaneTest {
@@ -17,4 +21,57 @@ public class PaneTest {
         assertTrue(Pane.Priority.HIGHEST.isLessThan(Pane.Priority.MONITOR));
         assertFalse(Pane.Priority.NORMAL.isLessThan(Pane.Priority.LOWEST));
     }
+
+    @Test
+    void testMarkDirty() {
+        StaticPane pane = new StaticPane(2, 2);
+
+        assertFalse(pane.isDirty());
+
+        pane.setVisible(false);
+
+        assertTrue(pane.isDirty());
+    }
+
+    @Test
+    void testMarkDirtyPropagatesToParent() {
+        PaginatedPane parent = new PaginatedPane(3, 3);
+        OutlinePane child = new OutlinePane(1, 1);
+
+        parent.addPane(0, child);
+
+        assertTrue(child.isDirty());
+        assertTrue(parent.isDirty());
+    }
+
+    @Test
+    void testOutlinePaneMutatorsMarkDirty() {
+        InventoryComponent inventoryComponent = new InventoryComponent(3, 3);
+        OutlinePane pane = new OutlinePane(3, 3);
+
+        inventoryComponent.addPane(pane);
+
+        List<Runnable> mutators = List.of(
+            () -> pane.setGap(1),
+            () -> pane.setRepeat(true),
+            () -> pane.align(OutlinePane.Alignment.CENTER),
+            () -> pane.flipHorizontally(true),
+            () -> pane.flipVertically(true),
+            () -> pane.setOrientation(Orientable.Orientation.VERTICAL),
+            () -> pane.setRotation(90),
+            () -> pane.applyMask(new Mask("101", "010", "101")),
+            () -> pane.setLength(2),
+            () -> pane.setY(1)
+        );
+
+        for (Runnable mutator : mutators) {
+            inventoryComponent.display();
+
+            assertFalse(pane.isDirty());
+
+            mutator.run();
+
+            assertTrue(pane.isDirty());
+        }
+    }
 }
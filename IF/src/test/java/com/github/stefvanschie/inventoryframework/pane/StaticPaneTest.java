@@ -10,6 +10,7 @@ public class StaticPaneTest {
   void testCopy() {
     StaticPane original = new StaticPane(5, 1, 1, 1, Pane.Priority.MONITOR);
     original.setVisible(false);
+    original.setReadOnly(true);
     original.setRotation(90);
     original.flipHorizontally(false);
     original.flipVertically(true);
@@ -24,6 +25,7 @@ public class StaticPaneTest {
     assertEquals(original.getHeight(), copy.getHeight());
     assertEquals(original.priority, copy.priority);
     assertEquals(original.isVisible(), copy.isVisible());
+    assertEquals(original.isReadOnly(), copy.isReadOnly());
     assertEquals(original.getRotation(), copy.getRotation());
     assertEquals(original.isFlippedHorizontally(), copy.isFlippedHorizontally());
     assertEquals(original.isFlippedVertically(), copy.isFlippedVertically());
@@ -0,0 +1,19 @@
+package com.github.stefvanschie.inventoryframework.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+public class UUIDUtilTest {
+
+  @Test
+  void testNextUUID() {
+    UUID first = UUIDUtil.nextUUID();
+    UUID second = UUIDUtil.nextUUID();
+
+    assertNotEquals(first, second);
+    assertEquals(first.getMostSignificantBits(), second.getMostSignificantBits());
+  }
+}
@@ -0,0 +1,54 @@
+package com.github.stefvanschie.inventoryframework.util;
+
+import com.github.stefvanschie.inventoryframework.exception.XMLLoadException;
+import com.github.stefvanschie.inventoryframework.gui.type.util.GuiTemplate;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class XMLUtilTest {
+
+  @Test
+  void testGetMethods() {
+    List<Method> methods = XMLUtil.getMethods(Controller.class, "populate");
+
+    assertEquals(2, methods.size());
+    assertSame(methods, XMLUtil.getMethods(Controller.class, "populate"));
+    assertTrue(XMLUtil.getMethods(Controller.class, "missing").isEmpty());
+  }
+
+  @Test
+  void testInvokeMethod() {
+    Controller controller = new Controller();
+
+    XMLUtil.INSTANCE.invokeMethod(controller, "populate", "value", String.class);
+
+    assertEquals("value", controller.value);
+    assertThrows(XMLLoadException.class, () -> XMLUtil.INSTANCE.invokeMethod(controller, "populate", 1L, Long.class));
+  }
+
+  @Test
+  void testCompileMalformedTemplate() {
+    byte[] bytes = "<chestgui".getBytes(StandardCharsets.UTF_8);
+
+    assertThrows(XMLLoadException.class, () -> GuiTemplate.compile(new ByteArrayInputStream(bytes)));
+  }
+
+  public static class Controller {
+
+    public String value;
+
+    public void populate(String value) {
+      this.value = value;
+    }
+
+    public void populate(Integer value) {
+      this.value = String.valueOf(value);
+    }
+  }
+}
@@ -0,0 +1,125 @@
+import org.gradle.api.DefaultTask
+import org.gradle.api.file.ConfigurableFileCollection
+import org.gradle.api.file.DirectoryProperty
+import org.gradle.api.tasks.InputFiles
+import org.gradle.api.tasks.OutputDirectory
+import org.gradle.api.tasks.PathSensitive
+import org.gradle.api.tasks.PathSensitivity
+import org.gradle.api.tasks.TaskAction
+import java.io.DataOutputStream
+import java.io.File
+import java.nio.charset.StandardCharsets
+
+/**
+ * Compiles csv font files into binary glyph tables, which can be read without parsing. Each csv file is compiled into a
+ * file with the same name and the `glyphs` extension, inside the `fonts` directory of the output directory. The binary
+ * format is read by the GlyphTable class of IF and must be kept in sync with it:
+ *
+ * - the magic number `0x49464754`, as an int
+ * - the format version `1`, as a byte
+ * - the amount of glyphs, as an int
+ * - for every glyph, sorted by character: the character as a char, followed by the skull id in modified UTF-8
+ */
+abstract class CompileGlyphTables : DefaultTask() {
+
+    /**
+     * The csv font files to compile
+     */
+    @get:InputFiles
+    @get:PathSensitive(PathSensitivity.NAME_ONLY)
+    abstract val fonts: ConfigurableFileCollection
+
+    /**
+     * The directory to write the glyph tables to
+     */
+    @get:OutputDirectory
+    abstract val outputDirectory: DirectoryProperty
+
+    @TaskAction
+    fun compile() {
+        val fontDirectory: File = outputDirectory.get().dir("fonts").asFile
+
+        fontDirectory.deleteRecursively()
+        fontDirectory.mkdirs()
+
+        for (font: File in fonts.files) {
+            val glyphs: Map<Char, String> = readGlyphs(font)
+            val output = File(fontDirectory, font.nameWithoutExtension + ".glyphs")
+
+            DataOutputStream(output.outputStream().buffered()).use { stream ->
+                stream.writeInt(0x49464754)
+                stream.writeByte(1)
+                stream.writeInt(glyphs.size)
+
+                for ((character: Char, skullId: String) in glyphs.toSortedMap()) {
+                    stream.writeChar(character.code)
+                    stream.writeUTF(skullId)
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads the glyphs from the specified csv font file. This follows the same rules as CSVUtil in IF: values are
+     * separated by commas outside of quotes, surrounding quotes are removed, double quotes are unescaped and unicode
+     * escapes are replaced by their character.
+     *
+     * @param font the csv font file
+     * @return the skull ids by their character
+     */
+    private fun readGlyphs(font: File): Map<Char, String> {
+        val glyphs: MutableMap<Char, String> = HashMap()
+
+        for (line: String in font.readLines(StandardCharsets.UTF_8)) {
+            if (line.isEmpty()) {
+                continue
+            }
+
+            val values: MutableList<String> = ArrayList()
+            var start = 0
+            var quote = false
+
+            for (index in line.indices) {
+                if (line[index] == '"') {
+                    quote = !quote
+                } else if (line[index] == ',' && !quote) {
+                    values.add(unescape(line.substring(start, index)))
+                    start = index + 1
+                }
+            }
+
+            values.add(unescape(line.substring(start)))
+
+            check(values.size >= 2 && values[0].isNotEmpty()) { "Invalid glyph '$line' in font ${font.name}" }
+
+            glyphs[values[0][0]] = values[1]
+        }
+
+        return glyphs
+    }
+
+    /**
+     * Turns a raw csv value into the value it represents.
+     *
+     * @param rawValue the raw value
+     * @return the value
+     */
+    private fun unescape(rawValue: String): String {
+        var value: String = rawValue.trim()
+
+        if (value.length >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+            value = value.substring(1, value.length - 1)
+        }
+
+        return UNICODE_ESCAPE.replace(value.replace("\"\"", "\"")) { match ->
+            match.groupValues[1].toInt(16).toChar().toString()
+        }
+    }
+
+    private companion object {
+        /**
+         * The pattern of a unicode escape
+         */
+        val UNICODE_ESCAPE: Regex = Regex("\\\\u([0-9A-Fa-f]{4})")
+    }
+}
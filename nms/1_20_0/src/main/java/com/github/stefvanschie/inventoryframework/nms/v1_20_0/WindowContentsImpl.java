@@ -0,0 +1,19 @@
+package com.github.stefvanschie.inventoryframework.nms.v1_20_0;
+
+import com.github.stefvanschie.inventoryframework.abstraction.WindowContents;
+import org.bukkit.craftbukkit.v1_20_R1.entity.CraftPlayer;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Internal window contents sender for 1.20.0
+ *
+ * @since 0.11.0
+ */
+public class WindowContentsImpl extends WindowContents {
+
+    @Override
+    public void sendContents(@NotNull Player player) {
+        ((CraftPlayer) player).getHandle().containerMenu.sendAllDataToRemote();
+    }
+}
@@ -0,0 +1,19 @@
+package com.github.stefvanschie.inventoryframework.nms.v1_21_2_3;
+
+import com.github.stefvanschie.inventoryframework.abstraction.WindowContents;
+import org.bukkit.craftbukkit.entity.CraftPlayer;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Internal window contents sender for 1.21.2
+ *
+ * @since 0.11.0
+ */
+public class WindowContentsImpl extends WindowContents {
+
+  @Override
+  public void sendContents(@NotNull Player player) {
+    ((CraftPlayer) player).getHandle().containerMenu.sendAllDataToRemote();
+  }
+}
@@ -0,0 +1,22 @@
+package com.github.stefvanschie.inventoryframework.abstraction;
+
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Sends the contents of the window a player has open
+ *
+ * @since 0.11.0
+ */
+public abstract class WindowContents {
+
+    /**
+     * Sends the complete contents of the window the player currently has open, including their own inventory and the
+     * item on their cursor, in a single packet. All changes made to the window since its contents were last sent are
+     * included, so they will not be sent as separate slot updates afterwards.
+     *
+     * @param player the player to send the contents to
+     * @since 0.11.0
+     */
+    public abstract void sendContents(@NotNull Player player);
+}